@@ -0,0 +1,98 @@
+package com.beerstock.catalog;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.mapper.BeerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the current listAll path (entities mapped to DTOs and serialized by Jackson databind) with the
+ * snapshot path. Run with the gc profiler (configured in build.gradle) to compare bytes allocated per call;
+ * the retained heap of both representations is printed once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ListAllBenchmark {
+    private static final BeerType[] TYPES = BeerType.values();
+
+    @Param({"100000", "250000"})
+    private int catalogSize;
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Beer> entities;
+    private BeerCatalogSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        entities = retained("entities", () -> createEntities(catalogSize));
+        snapshot = retained("snapshot", () -> {
+            BeerCatalogSnapshot catalogSnapshot = new BeerCatalogSnapshot();
+            createEntities(catalogSize).forEach(beer -> catalogSnapshot.upsert(beerMapper.beerToBeerDTO(beer)));
+            return catalogSnapshot;
+        });
+    }
+
+    @Benchmark
+    public void entityPath() throws IOException {
+        List<BeerDTO> beers = entities.stream()
+                .map(beerMapper::beerToBeerDTO)
+                .collect(Collectors.toList());
+
+        objectMapper.writeValue(OutputStream.nullOutputStream(), beers);
+    }
+
+    @Benchmark
+    public void snapshotPath() throws IOException {
+        BeerCatalogJsonWriter.write(snapshot.view(), OutputStream.nullOutputStream());
+    }
+
+    private static List<Beer> createEntities(int size) {
+        List<Beer> beers = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            beers.add(Beer.builder()
+                    .id((long) i + 1)
+                    .name("Beer " + i)
+                    .brand(new String("Brand " + (i % 500)))
+                    .maxQuantity(500)
+                    .quantity(i % 100)
+                    .type(TYPES[i % TYPES.length])
+                    .build());
+        }
+
+        return beers;
+    }
+
+    private <T> T retained(String label, Supplier<T> factory) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        T value = factory.get();
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n%s retained heap for %d beers: ~%d KB%n", label, catalogSize, (after - before) / 1024);
+
+        return value;
+    }
+}
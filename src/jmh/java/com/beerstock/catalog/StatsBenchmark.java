@@ -0,0 +1,56 @@
+package com.beerstock.catalog;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.enums.BeerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatsBenchmark {
+    private static final BeerType[] TYPES = BeerType.values();
+
+    @Param({"10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private BeerCatalogSnapshot.View view;
+
+    @Setup
+    public void setUp() {
+        BeerCatalogSnapshot snapshot = new BeerCatalogSnapshot();
+
+        for (int i = 0; i < catalogSize; i++) {
+            snapshot.upsert(BeerDTO.builder()
+                    .id((long) i + 1)
+                    .name("Beer " + i)
+                    .brand("Brand " + (i % 500))
+                    .maxQuantity(500)
+                    .quantity(i % 500)
+                    .type(TYPES[i % TYPES.length])
+                    .build());
+        }
+
+        view = snapshot.view();
+    }
+
+    @Benchmark
+    public BeerStatsDTO sequential() {
+        return CatalogAggregator.sequential(view, 10);
+    }
+
+    @Benchmark
+    public BeerStatsDTO parallel() {
+        return CatalogAggregator.parallel(view, 10, ForkJoinPool.commonPool());
+    }
+}
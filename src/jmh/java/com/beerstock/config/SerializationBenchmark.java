@@ -0,0 +1,97 @@
+package com.beerstock.config;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.enums.BeerType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU of the {@code listAll} body per format, with and without gzip. The {@code bytes} counter
+ * reports the body size of one operation, i.e. what goes on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    private static final BeerType[] TYPES = BeerType.values();
+
+    @Param({"json", "json-blackbird", "smile", "cbor"})
+    private String format;
+
+    @Param({"100", "10000"})
+    private int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private List<BeerDTO> beers;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        JsonFactory factory = format.equals("smile") ? new SmileFactory()
+                : format.equals("cbor") ? new CBORFactory()
+                : new JsonFactory();
+        objectMapper = new ObjectMapper(factory);
+        if (!format.equals("json")) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+
+        beers = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            beers.add(BeerDTO.builder()
+                    .id((long) i + 1)
+                    .name("Beer " + i)
+                    .brand("Brand " + (i % 500))
+                    .maxQuantity(500)
+                    .quantity(i % 500)
+                    .type(TYPES[i % TYPES.length])
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(WireSize wireSize) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(beers);
+        wireSize.bytes = body.length;
+        return body;
+    }
+
+    @Benchmark
+    public byte[] serializeGzip(WireSize wireSize) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            objectMapper.writeValue(gzip, beers);
+        }
+        wireSize.bytes = body.size();
+        return body.toByteArray();
+    }
+}
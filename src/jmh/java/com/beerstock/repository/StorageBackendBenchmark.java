@@ -0,0 +1,87 @@
+package com.beerstock.repository;
+
+import com.beerstock.BeerstockApplication;
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.enums.BeerType;
+import com.beerstock.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BeerService} throughput on the JPA/H2 backend and the embedded append-log backend, each booted
+ * in its own application context without the web layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBackendBenchmark {
+    private static final int CATALOG_SIZE = 1000;
+
+    @Param({"jpa", "logstore"})
+    private String backend;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("beerstock-logstore");
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BeerstockApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "beerstock.logstore.directory=" + directory);
+        if ("logstore".equals(backend)) {
+            builder.profiles("logstore");
+        }
+
+        context = builder.run();
+        beerService = context.getBean(BeerService.class);
+
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            beerService.createBeer(BeerDTO.builder()
+                    .name("Beer " + i)
+                    .brand("Brand " + (i % 50))
+                    .maxQuantity(Integer.MAX_VALUE)
+                    .quantity(0)
+                    .type(BeerType.LARGER)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public BeerDTO findByName() throws Exception {
+        return beerService.findByName("Beer " + ThreadLocalRandom.current().nextInt(CATALOG_SIZE));
+    }
+
+    @Benchmark
+    public BeerDTO increment() throws Exception {
+        return beerService.increment((long) ThreadLocalRandom.current().nextInt(CATALOG_SIZE) + 1, 1);
+    }
+}
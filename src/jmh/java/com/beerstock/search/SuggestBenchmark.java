@@ -0,0 +1,45 @@
+package com.beerstock.search;
+
+import com.beerstock.dto.BeerSuggestionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestBenchmark {
+    private static final String[] STYLES = {"Lager", "Pilsen", "Weiss", "Stout", "Porter", "Session IPA", "Red Ale", "Witbier"};
+    private static final String[] BRANDS = {"Ambev", "Heineken", "Colorado", "Baden Baden", "Eisenbahn", "Bohemia", "Wals", "Dado Bier"};
+
+    @Param({"100000"})
+    private int catalogSize;
+
+    @Param({"eisenb", "eisnebahn", "colorado stout 42"})
+    private String query;
+
+    private BeerSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new BeerSearchIndex();
+
+        for (int i = 0; i < catalogSize; i++) {
+            String brand = BRANDS[i % BRANDS.length];
+            index.upsert((long) i, brand + " " + STYLES[(i / BRANDS.length) % STYLES.length] + " " + i, brand);
+        }
+    }
+
+    @Benchmark
+    public List<BeerSuggestionDTO> suggest() {
+        return index.suggest(query, 10);
+    }
+}
@@ -0,0 +1,103 @@
+package com.beerstock.cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of 4-bit counters, four rows packed sixteen counters to a {@code long}, used to estimate
+ * how often a beer was accessed recently. After {@code 10 * capacity} increments every counter is halved,
+ * so old popularity fades and the estimates follow the current traffic.
+ *
+ * <p>Every cache hit increments the sketch, so it takes no lock: counters are bumped with a compare-and-set on
+ * their {@code long}, and the thread whose increment reaches the sample size halves the table. Increments racing
+ * with that halving may or may not be halved, which only blurs an estimate that is approximate anyway.
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean resetting = new AtomicBoolean();
+
+    FrequencySketch(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+
+        this.table = new AtomicLongArray(tableSize);
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * Math.max(16, capacity);
+    }
+
+    int frequency(long hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, (int) ((table.get(indexOf(hash, row)) >>> offsetOf(hash, row)) & MAX_COUNT));
+        }
+
+        return frequency;
+    }
+
+    void increment(long hash) {
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            added |= incrementAt(indexOf(hash, row), offsetOf(hash, row));
+        }
+
+        if (added && size.incrementAndGet() >= sampleSize && resetting.compareAndSet(false, true)) {
+            try {
+                reset();
+            } finally {
+                resetting.set(false);
+            }
+        }
+    }
+
+    long sizeInBytes() {
+        return (long) table.length() * Long.BYTES;
+    }
+
+    /**
+     * Adds one to the counter at {@code offset} unless it is saturated, retrying when another thread changed
+     * the same {@code long} in between.
+     */
+    private boolean incrementAt(int index, int offset) {
+        while (true) {
+            long current = table.get(index);
+            if (((current >>> offset) & MAX_COUNT) == MAX_COUNT) {
+                return false;
+            }
+            if (table.compareAndSet(index, current, current + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves every counter and the size. Only one thread at a time gets here, through {@code resetting}.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            table.getAndUpdate(i, value -> (value >>> 1) & RESET_MASK);
+        }
+        size.updateAndGet(count -> count / 2);
+    }
+
+    private int indexOf(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+
+        return (int) h & tableMask;
+    }
+
+    /**
+     * Bit offset of the row's counter within its {@code long}: one of sixteen nibbles, picked by a different
+     * byte of the hash for each row.
+     */
+    private static int offsetOf(long hash, int row) {
+        return (int) ((hash >>> (row << 3)) & MAX_COUNT) << 2;
+    }
+}
@@ -0,0 +1,263 @@
+package com.beerstock.cache;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.event.BeerChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory tier for the few beers that take most of the lookups. {@code BeerService.findByName} is served from
+ * here on a hit; everything else goes to the store. Accesses by name and stock mutations by id are counted in a
+ * {@link FrequencySketch}, and a beer loaded on a miss only replaces the least frequent of a few sampled
+ * entries when it has been accessed more often (TinyLFU admission), so one-off lookups cannot push out the hot
+ * set. Scans such as {@code listAll} bypass the cache altogether.
+ *
+ * <p>Committed changes, delivered as {@link BeerChangedEvent}s, evict the beer rather than patch it: the
+ * after-commit listeners of concurrent transactions can run in any order, so patching could leave the quantity
+ * of an older commit in place. The next lookup reloads the beer from the store instead. A beer loaded before a
+ * change committed must not be admitted after the change was applied, so every applied change stamps a stripe of
+ * {@code stamps} with a sequence number, and {@link #admit} refuses a beer whose stripe moved past the
+ * {@link #stamp()} taken before it was loaded.
+ */
+@Component
+@ConditionalOnProperty(prefix = "beerstock.cache", name = "enabled", havingValue = "true")
+public class HotBeerCache {
+    private static final int STAMP_STRIPES = 1024;
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private final HotBeerCacheProperties properties;
+    private final FrequencySketch sketch;
+    private final Map<String, Entry> entriesByName = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entriesById = new ConcurrentHashMap<>();
+    private final Entry[] slots;
+    private final long[] stamps = new long[STAMP_STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Counter admitted;
+    private final Counter rejected;
+
+    private volatile long sequence;
+    private int size;
+    private long entryBytes;
+
+    public HotBeerCache(HotBeerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sketch = new FrequencySketch(properties.getCapacity());
+        this.slots = new Entry[properties.getCapacity()];
+
+        FunctionCounter.builder("beerstock.cache.requests", hits, LongAdder::sum)
+                .description("Lookups of the hot beer cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("beerstock.cache.requests", misses, LongAdder::sum)
+                .description("Lookups of the hot beer cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("beerstock.cache.hit.ratio", this, HotBeerCache::hitRatio)
+                .description("Share of lookups served by the hot beer cache")
+                .register(meterRegistry);
+        Gauge.builder("beerstock.cache.size", this, HotBeerCache::size)
+                .description("Beers in the hot beer cache")
+                .register(meterRegistry);
+        Gauge.builder("beerstock.cache.memory", this, HotBeerCache::sizeInBytes)
+                .description("Estimated heap used by the hot beer cache and its frequency sketch")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.admitted = Counter.builder("beerstock.cache.admissions")
+                .description("Beers offered to the hot beer cache")
+                .tag("result", "admitted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("beerstock.cache.admissions")
+                .description("Beers offered to the hot beer cache")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    public BeerDTO get(String tenantId, String name) {
+        Entry entry = entriesByName.get(nameKey(tenantId, name));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        sketch.increment(entry.hash);
+        return copy(entry.beer);
+    }
+
+    public void recordAccess(String tenantId, Long id) {
+        sketch.increment(hash(tenantId, id));
+    }
+
+    /**
+     * Sequence to take before loading a beer that will be offered to {@link #admit}.
+     */
+    public long stamp() {
+        return sequence;
+    }
+
+    /**
+     * Offers a beer loaded from the store after a miss. The access is counted first, so a beer asked for
+     * often enough eventually beats the least frequent of the sampled entries.
+     */
+    public synchronized void admit(String tenantId, BeerDTO beer, long stamp) {
+        long hash = hash(tenantId, beer.getId());
+        sketch.increment(hash);
+
+        if (stamps[stripe(hash)] > stamp) {
+            rejected.increment();
+            return;
+        }
+
+        Entry cached = entriesById.get(idKey(tenantId, beer.getId()));
+        if (cached != null) {
+            cached.beer = copy(beer);
+            return;
+        }
+
+        int slot = size;
+        if (size == slots.length) {
+            Entry victim = sampleVictim();
+            if (victim == null || sketch.frequency(hash) <= sketch.frequency(victim.hash)) {
+                rejected.increment();
+                return;
+            }
+            slot = victim.slot;
+            remove(victim);
+        }
+
+        Entry entry = new Entry(nameKey(tenantId, beer.getName()), idKey(tenantId, beer.getId()), hash, copy(beer), slot);
+        slots[slot] = entry;
+        size++;
+        entryBytes += entry.bytes;
+        entriesByName.put(entry.nameKey, entry);
+        entriesById.put(entry.idKey, entry);
+        admitted.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBeerChanged(BeerChangedEvent event) {
+        long hash = hash(event.getTenantId(), event.getBeerId());
+        stamps[stripe(hash)] = ++sequence;
+
+        Entry entry = entriesById.get(idKey(event.getTenantId(), event.getBeerId()));
+        if (entry != null) {
+            removeAndCompact(entry);
+        }
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Rough heap estimate: the sketch table plus, per entry, a fixed overhead for the objects and map nodes and
+     * two bytes per character of the keys and strings.
+     */
+    public synchronized long sizeInBytes() {
+        return sketch.sizeInBytes() + (long) slots.length * 8 + entryBytes;
+    }
+
+    private Entry sampleVictim() {
+        Entry victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < properties.getVictimSamples(); i++) {
+            Entry candidate = slots[random.nextInt(size)];
+            int frequency = sketch.frequency(candidate.hash);
+            if (frequency < victimFrequency) {
+                victim = candidate;
+                victimFrequency = frequency;
+            }
+        }
+
+        return victim;
+    }
+
+    private void remove(Entry entry) {
+        entriesByName.remove(entry.nameKey, entry);
+        entriesById.remove(entry.idKey, entry);
+        slots[entry.slot] = null;
+        size--;
+        entryBytes -= entry.bytes;
+    }
+
+    /**
+     * Removes an entry and moves the last slot into its place, so the occupied slots stay contiguous for sampling.
+     */
+    private void removeAndCompact(Entry entry) {
+        int slot = entry.slot;
+        remove(entry);
+
+        if (slot != size) {
+            Entry last = slots[size];
+            slots[size] = null;
+            last.slot = slot;
+            slots[slot] = last;
+        }
+    }
+
+    private static BeerDTO copy(BeerDTO beer) {
+        return BeerDTO.builder()
+                .id(beer.getId())
+                .name(beer.getName())
+                .brand(beer.getBrand())
+                .maxQuantity(beer.getMaxQuantity())
+                .quantity(beer.getQuantity())
+                .type(beer.getType())
+                .build();
+    }
+
+    private static int stripe(long hash) {
+        return (int) (hash >>> 32) & (STAMP_STRIPES - 1);
+    }
+
+    private static long hash(String tenantId, Long id) {
+        return (31L * tenantId.hashCode() + id) * 0x9e3779b97f4a7c15L;
+    }
+
+    private static String nameKey(String tenantId, String name) {
+        return tenantId + '\0' + name;
+    }
+
+    private static String idKey(String tenantId, Long id) {
+        return tenantId + '\0' + id;
+    }
+
+    private static class Entry {
+        private final String nameKey;
+        private final String idKey;
+        private final long hash;
+        private final long bytes;
+        private volatile BeerDTO beer;
+        private int slot;
+
+        Entry(String nameKey, String idKey, long hash, BeerDTO beer, int slot) {
+            this.nameKey = nameKey;
+            this.idKey = idKey;
+            this.hash = hash;
+            this.beer = beer;
+            this.slot = slot;
+            this.bytes = ENTRY_OVERHEAD_BYTES
+                    + 2L * (nameKey.length() + idKey.length() + beer.getName().length() + beer.getBrand().length());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.beerstock.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.cache")
+public class HotBeerCacheProperties {
+    private boolean enabled;
+
+    private int capacity = 500;
+
+    /**
+     * Cached beers sampled to pick the least frequent one when a new beer asks to be admitted.
+     */
+    private int victimSamples = 8;
+}
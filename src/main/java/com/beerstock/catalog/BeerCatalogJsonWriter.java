@@ -0,0 +1,38 @@
+package com.beerstock.catalog;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams a snapshot view as the same JSON array {@code GET /api/v1/beer} returns, without building DTOs.
+ */
+public class BeerCatalogJsonWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private BeerCatalogJsonWriter() {
+    }
+
+    public static void write(BeerCatalogSnapshot.View view, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+
+            for (int row = 0; row < view.size(); row++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", view.id(row));
+                generator.writeStringField("name", view.name(row));
+                generator.writeStringField("brand", view.brand(row));
+                generator.writeNumberField("maxQuantity", view.maxQuantity(row));
+                generator.writeNumberField("quantity", view.quantity(row));
+                generator.writeStringField("type", view.type(row).name());
+                generator.writeEndObject();
+            }
+
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.beerstock.catalog;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.enums.BeerType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-optimized copy of the catalog kept in parallel primitive arrays sorted by id. Brands are
+ * dictionary encoded, so each distinct brand string is held once and rows only keep an int.
+ *
+ * <p>Readers share an immutable {@link View}, published through a volatile field. A change drops it, and the
+ * first read after the change copies the arrays into a new one, so a burst of changes costs one copy and
+ * reads between changes copy nothing.
+ *
+ * <p>While the snapshot is being loaded from the store, the ids changed by events are remembered and
+ * {@link #load} skips them, so a row read by the startup scan cannot overwrite a newer change.
+ */
+public class BeerCatalogSnapshot {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final BeerType[] TYPES = BeerType.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> brandIds = new HashMap<>();
+    private final List<String> brands = new ArrayList<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] brandOfRow = new int[INITIAL_CAPACITY];
+    private int[] maxQuantities = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int size;
+    private Set<Long> changedDuringLoad;
+
+    private volatile View published;
+
+    public void upsert(BeerDTO beer) {
+        lock.writeLock().lock();
+        try {
+            changed(beer.getId());
+            put(beer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts remembering the ids changed by {@link #upsert}, {@link #updateQuantity} and {@link #remove}
+     * until {@link #finishLoad}.
+     */
+    public void startLoad() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad == null) {
+                changedDuringLoad = new HashSet<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a beer read from the store, unless it was changed since {@link #startLoad}.
+     */
+    public void load(BeerDTO beer) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad == null || !changedDuringLoad.contains(beer.getId())) {
+                put(beer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean updateQuantity(long id, int quantity) {
+        lock.writeLock().lock();
+        try {
+            changed(id);
+            int row = indexOf(id);
+            if (row < 0) {
+                return false;
+            }
+
+            quantities[row] = quantity;
+            published = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            changed(id);
+            int row = indexOf(id);
+            if (row < 0) {
+                return false;
+            }
+
+            int tail = size - row - 1;
+            System.arraycopy(ids, row + 1, ids, row, tail);
+            System.arraycopy(names, row + 1, names, row, tail);
+            System.arraycopy(brandOfRow, row + 1, brandOfRow, row, tail);
+            System.arraycopy(maxQuantities, row + 1, maxQuantities, row, tail);
+            System.arraycopy(quantities, row + 1, quantities, row, tail);
+            System.arraycopy(types, row + 1, types, row, tail);
+            names[--size] = null;
+            published = null;
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The shared view of the current rows, so readers can serialize or aggregate without blocking writers.
+     * It is published under the read lock, so a writer cannot drop it before a stale copy is published.
+     */
+    public View view() {
+        View view = published;
+        if (view != null) {
+            return view;
+        }
+
+        lock.readLock().lock();
+        try {
+            view = new View(
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(names, size),
+                    Arrays.copyOf(brandOfRow, size),
+                    Arrays.copyOf(maxQuantities, size),
+                    Arrays.copyOf(quantities, size),
+                    Arrays.copyOf(types, size),
+                    brands.toArray(new String[0]));
+            published = view;
+
+            return view;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(BeerDTO beer) {
+        int row = indexOf(beer.getId());
+        if (row < 0) {
+            row = -row - 1;
+            insertAt(row, beer.getId());
+        }
+
+        names[row] = beer.getName();
+        brandOfRow[row] = brandId(beer.getBrand());
+        maxQuantities[row] = beer.getMaxQuantity();
+        quantities[row] = beer.getQuantity();
+        types[row] = (byte) beer.getType().ordinal();
+        published = null;
+    }
+
+    private void changed(long id) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(id);
+        }
+    }
+
+    private int indexOf(long id) {
+        if (size > 0 && id > ids[size - 1]) {
+            return -size - 1;
+        }
+
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    private void insertAt(int row, long id) {
+        if (size == ids.length) {
+            grow();
+        }
+
+        int tail = size - row;
+        if (tail > 0) {
+            System.arraycopy(ids, row, ids, row + 1, tail);
+            System.arraycopy(names, row, names, row + 1, tail);
+            System.arraycopy(brandOfRow, row, brandOfRow, row + 1, tail);
+            System.arraycopy(maxQuantities, row, maxQuantities, row + 1, tail);
+            System.arraycopy(quantities, row, quantities, row + 1, tail);
+            System.arraycopy(types, row, types, row + 1, tail);
+        }
+
+        ids[row] = id;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        brandOfRow = Arrays.copyOf(brandOfRow, capacity);
+        maxQuantities = Arrays.copyOf(maxQuantities, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        types = Arrays.copyOf(types, capacity);
+    }
+
+    private int brandId(String brand) {
+        Integer id = brandIds.get(brand);
+        if (id == null) {
+            id = brands.size();
+            brands.add(brand);
+            brandIds.put(brand, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Immutable rows of the snapshot; the arrays are never written after construction.
+     */
+    public static class View {
+        private final long[] ids;
+        private final String[] names;
+        private final int[] brandOfRow;
+        private final int[] maxQuantities;
+        private final int[] quantities;
+        private final byte[] types;
+        private final String[] brands;
+
+        View(long[] ids, String[] names, int[] brandOfRow, int[] maxQuantities, int[] quantities, byte[] types, String[] brands) {
+            this.ids = ids;
+            this.names = names;
+            this.brandOfRow = brandOfRow;
+            this.maxQuantities = maxQuantities;
+            this.quantities = quantities;
+            this.types = types;
+            this.brands = brands;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public long id(int row) {
+            return ids[row];
+        }
+
+        public String name(int row) {
+            return names[row];
+        }
+
+        public int brandId(int row) {
+            return brandOfRow[row];
+        }
+
+        public String brand(int row) {
+            return brands[brandOfRow[row]];
+        }
+
+        public int brandCount() {
+            return brands.length;
+        }
+
+        public String brandName(int brandId) {
+            return brands[brandId];
+        }
+
+        public int maxQuantity(int row) {
+            return maxQuantities[row];
+        }
+
+        public int quantity(int row) {
+            return quantities[row];
+        }
+
+        public int typeOrdinal(int row) {
+            return types[row];
+        }
+
+        public BeerType type(int row) {
+            return TYPES[types[row]];
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.beerstock.catalog;
+
+import com.beerstock.entity.Beer;
+import com.beerstock.event.BeerChangedEvent;
+import com.beerstock.mapper.BeerMapper;
+import com.beerstock.repository.BeerStore;
+import com.beerstock.tenant.TenancyProperties;
+import com.beerstock.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one snapshot per tenant, so a tenant's reads never pay for the size of the other catalogs. Requests can
+ * change beers while the snapshots are loaded at startup; the snapshots skip the rows those changes touched.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "beerstock.catalog.snapshot", name = "enabled", havingValue = "true")
+public class BeerCatalogSnapshotService {
+    @Autowired
+    private BeerStore beerStore;
+    @Autowired(required = false)
+    private EntityManager entityManager;
+    @Autowired
+    private TenancyProperties tenancyProperties;
+    private static final BeerCatalogSnapshot EMPTY = new BeerCatalogSnapshot();
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final Map<String, BeerCatalogSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private boolean scanning;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        synchronized (snapshots) {
+            scanning = true;
+            snapshots.values().forEach(BeerCatalogSnapshot::startLoad);
+        }
+        try (Stream<Beer> beers = beerStore.streamAllByOrderByIdAsc()) {
+            beers.forEach(beer -> {
+                snapshot(beer.getTenantId()).load(beerMapper.beerToBeerDTO(beer));
+                if (entityManager != null) {
+                    entityManager.detach(beer);
+                }
+            });
+        } finally {
+            synchronized (snapshots) {
+                scanning = false;
+                snapshots.values().forEach(BeerCatalogSnapshot::finishLoad);
+            }
+        }
+
+        log.info("Loaded {} beers of {} tenants into the catalog snapshots",
+                snapshots.values().stream().mapToInt(BeerCatalogSnapshot::size).sum(), snapshots.size());
+    }
+
+    /**
+     * Tenants routed to their own database are not in the scan above; each is loaded with its tenant set,
+     * so the query opens its session on that tenant's database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRoutedTenants() {
+        for (String tenantId : tenancyProperties.getRoutedTenantIds()) {
+            TenantContext.setTenantId(tenantId);
+            try {
+                BeerCatalogSnapshot snapshot = snapshot(tenantId);
+                snapshot.startLoad();
+                try {
+                    beerStore.findAllByTenantId(tenantId).forEach(beer -> snapshot.load(beerMapper.beerToBeerDTO(beer)));
+                } finally {
+                    snapshot.finishLoad();
+                }
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        BeerCatalogSnapshot snapshot = snapshot(event.getTenantId());
+
+        switch (event.getChangeType()) {
+            case DELETED:
+                snapshot.remove(event.getBeerId());
+                break;
+            case STOCK_CHANGED:
+                snapshot.updateQuantity(event.getBeerId(), event.getQuantity());
+                break;
+            default:
+                snapshot.upsert(event.getBeer());
+        }
+    }
+
+    /**
+     * The tenant's catalog, empty for a tenant with no beers loaded; reads never create a snapshot.
+     */
+    public BeerCatalogSnapshot.View view(String tenantId) {
+        return snapshots.getOrDefault(tenantId, EMPTY).view();
+    }
+
+    public void writeJson(String tenantId, OutputStream outputStream) throws IOException {
+        BeerCatalogJsonWriter.write(view(tenantId), outputStream);
+    }
+
+    /**
+     * A snapshot created by an event during the scan starts loading too, so the scan cannot overwrite the event.
+     * Creation is serialized with the start and end of the scan, so no snapshot misses its {@code finishLoad}.
+     */
+    private BeerCatalogSnapshot snapshot(String tenantId) {
+        BeerCatalogSnapshot snapshot = snapshots.get(tenantId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        synchronized (snapshots) {
+            return snapshots.computeIfAbsent(tenantId, key -> {
+                BeerCatalogSnapshot created = new BeerCatalogSnapshot();
+                if (scanning) {
+                    created.startLoad();
+                }
+                return created;
+            });
+        }
+    }
+}
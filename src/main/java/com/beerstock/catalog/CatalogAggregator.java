@@ -0,0 +1,169 @@
+package com.beerstock.catalog;
+
+import com.beerstock.dto.BeerFillLevelDTO;
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.enums.BeerType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes catalog statistics over a snapshot view with primitive accumulators, either sequentially or
+ * split across a fork-join pool. Both paths produce identical results.
+ */
+public class CatalogAggregator {
+    private static final int LEAF_SIZE = 8192;
+    private static final BeerType[] TYPES = BeerType.values();
+
+    private CatalogAggregator() {
+    }
+
+    public static BeerStatsDTO sequential(BeerCatalogSnapshot.View view, int nearestMaxSize) {
+        return toStats(view, accumulate(view, 0, view.size(), nearestMaxSize));
+    }
+
+    public static BeerStatsDTO parallel(BeerCatalogSnapshot.View view, int nearestMaxSize, ForkJoinPool pool) {
+        return toStats(view, pool.invoke(new AggregateTask(view, 0, view.size(), nearestMaxSize)));
+    }
+
+    private static Partial accumulate(BeerCatalogSnapshot.View view, int from, int to, int nearestMaxSize) {
+        Partial partial = new Partial(view.brandCount(), nearestMaxSize);
+
+        for (int row = from; row < to; row++) {
+            int quantity = view.quantity(row);
+            int maxQuantity = view.maxQuantity(row);
+            int brandId = view.brandId(row);
+
+            partial.stockByType[view.typeOrdinal(row)] += quantity;
+            partial.quantityByBrand[brandId] += quantity;
+            partial.maxQuantityByBrand[brandId] += maxQuantity;
+            partial.nearestMax.offer(row, view.id(row), maxQuantity == 0 ? 0.0 : (double) quantity / maxQuantity);
+        }
+
+        return partial;
+    }
+
+    private static BeerStatsDTO toStats(BeerCatalogSnapshot.View view, Partial partial) {
+        Map<BeerType, Long> stockByType = new EnumMap<>(BeerType.class);
+        for (BeerType type : TYPES) {
+            stockByType.put(type, partial.stockByType[type.ordinal()]);
+        }
+
+        Map<String, Double> fillRatioByBrand = new TreeMap<>();
+        for (int brandId = 0; brandId < partial.quantityByBrand.length; brandId++) {
+            if (partial.maxQuantityByBrand[brandId] > 0) {
+                fillRatioByBrand.put(view.brandName(brandId),
+                        (double) partial.quantityByBrand[brandId] / partial.maxQuantityByBrand[brandId]);
+            }
+        }
+
+        List<BeerFillLevelDTO> nearestMax = new ArrayList<>(partial.nearestMax.size);
+        for (int i = 0; i < partial.nearestMax.size; i++) {
+            int row = partial.nearestMax.rows[i];
+            nearestMax.add(new BeerFillLevelDTO(view.id(row), view.name(row), view.brand(row),
+                    view.quantity(row), view.maxQuantity(row), partial.nearestMax.ratios[i]));
+        }
+
+        return new BeerStatsDTO(stockByType, fillRatioByBrand, nearestMax);
+    }
+
+    private static class AggregateTask extends RecursiveTask<Partial> {
+        private final BeerCatalogSnapshot.View view;
+        private final int from;
+        private final int to;
+        private final int nearestMaxSize;
+
+        AggregateTask(BeerCatalogSnapshot.View view, int from, int to, int nearestMaxSize) {
+            this.view = view;
+            this.from = from;
+            this.to = to;
+            this.nearestMaxSize = nearestMaxSize;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= LEAF_SIZE) {
+                return accumulate(view, from, to, nearestMaxSize);
+            }
+
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(view, from, middle, nearestMaxSize);
+            left.fork();
+            Partial right = new AggregateTask(view, middle, to, nearestMaxSize).compute();
+
+            return left.join().merge(right);
+        }
+    }
+
+    private static class Partial {
+        private final long[] stockByType = new long[TYPES.length];
+        private final long[] quantityByBrand;
+        private final long[] maxQuantityByBrand;
+        private final TopRows nearestMax;
+
+        Partial(int brandCount, int nearestMaxSize) {
+            this.quantityByBrand = new long[brandCount];
+            this.maxQuantityByBrand = new long[brandCount];
+            this.nearestMax = new TopRows(nearestMaxSize);
+        }
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < stockByType.length; i++) {
+                stockByType[i] += other.stockByType[i];
+            }
+            for (int i = 0; i < quantityByBrand.length; i++) {
+                quantityByBrand[i] += other.quantityByBrand[i];
+                maxQuantityByBrand[i] += other.maxQuantityByBrand[i];
+            }
+            for (int i = 0; i < other.nearestMax.size; i++) {
+                nearestMax.offer(other.nearestMax.rows[i], other.nearestMax.ids[i], other.nearestMax.ratios[i]);
+            }
+
+            return this;
+        }
+    }
+
+    /**
+     * Highest fill ratios first, lower id first on ties; kept sorted by insertion since the size is small.
+     */
+    private static class TopRows {
+        private final int[] rows;
+        private final long[] ids;
+        private final double[] ratios;
+        private int size;
+
+        TopRows(int capacity) {
+            this.rows = new int[capacity];
+            this.ids = new long[capacity];
+            this.ratios = new double[capacity];
+        }
+
+        void offer(int row, long id, double ratio) {
+            int capacity = rows.length;
+            if (capacity == 0 || (size == capacity && !ranksBefore(ratio, id, size - 1))) {
+                return;
+            }
+
+            int position = size == capacity ? capacity - 1 : size++;
+            while (position > 0 && ranksBefore(ratio, id, position - 1)) {
+                rows[position] = rows[position - 1];
+                ids[position] = ids[position - 1];
+                ratios[position] = ratios[position - 1];
+                position--;
+            }
+
+            rows[position] = row;
+            ids[position] = id;
+            ratios[position] = ratio;
+        }
+
+        private boolean ranksBefore(double ratio, long id, int position) {
+            return ratio > ratios[position] || (ratio == ratios[position] && id < ids[position]);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.beerstock.config;
+
+import java.util.function.LongConsumer;
+
+/**
+ * When the writer behind the current thread last wrote to the primary, so {@link ReplicaRoutingDataSource} can
+ * keep that writer's reads on the primary for a while. For API requests the writer is the client:
+ * {@link ReadYourWritesInterceptor} restores its last write from a cookie and sends the new one back. Any other
+ * thread is its own writer and only sees its own writes.
+ */
+public final class ReadYourWritesContext {
+    private static final ThreadLocal<Writer> CURRENT = ThreadLocal.withInitial(Writer::new);
+
+    private ReadYourWritesContext() {
+    }
+
+    public static long getLastWriteAt() {
+        return CURRENT.get().lastWriteAt;
+    }
+
+    /**
+     * Records a write committed, or about to be, at {@code writtenAt}. The listener of the request hears about
+     * the first write only, which is close enough to the later ones for a stickiness window.
+     */
+    public static void recordWrite(long writtenAt) {
+        Writer writer = CURRENT.get();
+        writer.lastWriteAt = Math.max(writer.lastWriteAt, writtenAt);
+
+        if (writer.onFirstWrite != null) {
+            writer.onFirstWrite.accept(writtenAt);
+            writer.onFirstWrite = null;
+        }
+    }
+
+    /**
+     * Starts a request of a writer whose last write was at {@code lastWriteAt}; {@code onFirstWrite} is told
+     * when the request writes.
+     */
+    public static void begin(long lastWriteAt, LongConsumer onFirstWrite) {
+        Writer writer = new Writer();
+        writer.lastWriteAt = lastWriteAt;
+        writer.onFirstWrite = onFirstWrite;
+
+        CURRENT.set(writer);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    private static class Writer {
+        private long lastWriteAt;
+        private LongConsumer onFirstWrite;
+    }
+}
@@ -0,0 +1,89 @@
+package com.beerstock.config;
+
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Carries the time of a client's last write between its requests in a cookie, so the read-your-writes window of
+ * {@link ReplicaRoutingDataSource} applies to the client that wrote instead of to every request of the instance.
+ * The cookie expires with the window.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    static final String COOKIE_NAME = "beerstock-last-write";
+
+    private final long windowMillis;
+
+    public ReadYourWritesInterceptor(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesContext.begin(lastWriteAt(request), writtenAt -> {
+            if (!response.isCommitted()) {
+                response.addCookie(cookie(writtenAt));
+            }
+        });
+        if (request.getDispatcherType() == DispatcherType.ASYNC && appliedElsewhere(request)) {
+            ReadYourWritesContext.recordWrite(System.currentTimeMillis());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWritesContext.clear();
+    }
+
+    /**
+     * A write completed asynchronously, such as a pipelined stock mutation, committed on another thread, so the
+     * request only learns about it when it is dispatched again with a successful result.
+     */
+    private static boolean appliedElsewhere(HttpServletRequest request) {
+        if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())) {
+            return false;
+        }
+
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        return asyncManager.hasConcurrentResult() && !(asyncManager.getConcurrentResult() instanceof Throwable);
+    }
+
+    private Cookie cookie(long writtenAt) {
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(writtenAt));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+
+        return cookie;
+    }
+
+    private static long lastWriteAt(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,104 @@
+package com.beerstock.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * read-only flag of the transaction is already known when the physical connection is fetched. With a
+ * read-your-writes window, the reads of a writer that wrote within the window also go to the primary; the
+ * writer is tracked through {@link ReadYourWritesContext}, so other clients keep reading from the replicas.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY_KEY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final long readYourWritesWindowMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long readYourWritesWindowMillis) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.readYourWritesWindowMillis = readYourWritesWindowMillis;
+        this.healthyReplicas = List.copyOf(this.replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY_KEY, primary);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesContext.recordWrite(System.currentTimeMillis());
+            }
+            return PRIMARY_KEY;
+        }
+
+        if (readYourWritesWindowMillis > 0 && System.currentTimeMillis() - ReadYourWritesContext.getLastWriteAt() < readYourWritesWindowMillis) {
+            return PRIMARY_KEY;
+        }
+
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY_KEY;
+        }
+
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    public void checkReplicas(int validationTimeoutSeconds) {
+        List<String> healthy = new ArrayList<>(replicas.size());
+
+        replicas.forEach((key, dataSource) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (connection.isValid(validationTimeoutSeconds)) {
+                    healthy.add(key);
+                }
+            } catch (SQLException e) {
+                logger.warn("Replica " + key + " failed its health check, routing its reads to the primary", e);
+            }
+        });
+
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public void close() throws Exception {
+        for (DataSource dataSource : replicas.values()) {
+            closeIfPossible(dataSource);
+        }
+        closeIfPossible(primary);
+    }
+
+    private void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable) {
+            ((AutoCloseable) dataSource).close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.beerstock.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "beerstock.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingDataSourceConfig implements WebMvcConfigurer {
+    private final ReplicaRoutingProperties properties;
+
+    public ReplicaRoutingDataSourceConfig(ReplicaRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(ReplicaRoutingProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Node> replicaNodes = properties.getReplicas();
+
+        for (int i = 0; i < replicaNodes.size(); i++) {
+            replicas.put("replica-" + i, createDataSource(replicaNodes.get(i), "replica-" + i));
+        }
+
+        return new ReplicaRoutingDataSource(
+                createDataSource(properties.getPrimary(), "primary"),
+                replicas,
+                properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.getReadYourWritesWindow() > 0) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(properties.getReadYourWritesWindow())).addPathPatterns("/api/**");
+        }
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(ReplicaRoutingDataSource replicaRoutingDataSource, ReplicaRoutingProperties properties) {
+        return new ReplicaHealthCheck(replicaRoutingDataSource, properties.getValidationTimeout());
+    }
+
+    private DataSource createDataSource(ReplicaRoutingProperties.Node node, String poolName) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(node.getUrl())
+                .username(node.getUsername())
+                .password(node.getPassword())
+                .build();
+        dataSource.setPoolName(poolName);
+
+        return dataSource;
+    }
+
+    public static class ReplicaHealthCheck {
+        private final ReplicaRoutingDataSource routingDataSource;
+        private final int validationTimeout;
+
+        public ReplicaHealthCheck(ReplicaRoutingDataSource routingDataSource, int validationTimeout) {
+            this.routingDataSource = routingDataSource;
+            this.validationTimeout = validationTimeout;
+        }
+
+        @Scheduled(fixedDelayString = "${beerstock.datasource.routing.health-check-interval:5000}")
+        public void checkReplicas() {
+            routingDataSource.checkReplicas(validationTimeout);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.datasource.routing")
+public class ReplicaRoutingProperties {
+    private boolean enabled;
+
+    private long healthCheckInterval = 5000;
+
+    private int validationTimeout = 1;
+
+    private long readYourWritesWindow;
+
+    private Node primary = new Node();
+
+    private List<Node> replicas = new ArrayList<>();
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
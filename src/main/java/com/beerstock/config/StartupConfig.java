@@ -0,0 +1,30 @@
+package com.beerstock.config;
+
+import com.beerstock.history.StockHistoryRollup;
+import com.beerstock.outbox.OutboxRelay;
+import com.beerstock.replenishment.ReplenishmentPlanner;
+import com.beerstock.rules.BeerRuleEngine;
+import com.beerstock.repository.logstore.AppendLogBeerStore;
+import com.beerstock.service.StockWritePipeline;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans that do background work must start with the context even when lazy initialization is on.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundWorkersExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                ReplicaRoutingDataSourceConfig.ReplicaHealthCheck.class,
+                StockWritePipeline.class,
+                AppendLogBeerStore.class,
+                OutboxRelay.class,
+                StockHistoryRollup.class,
+                ReplenishmentPlanner.class,
+                BeerRuleEngine.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.beerstock.config;
+
+import com.beerstock.tenant.TenancyProperties;
+import com.beerstock.tenant.TenantContext;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.MultiTenancyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Database-per-tenant routing. Hibernate opens each session on the database of the tenant in
+ * {@link TenantContext}; the default tenant stays on the primary data source. Hibernate keeps the pooled
+ * id ranges per tenant, so {@code beer_seq} blocks are never shared between databases.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "beerstock.tenancy.routing", name = "enabled", havingValue = "true")
+public class TenantRoutingConfig {
+
+    @Bean
+    public TenantConnectionProvider tenantConnectionProvider(DataSource dataSource, TenancyProperties properties) {
+        Map<String, DataSource> tenantDataSources = new LinkedHashMap<>();
+
+        properties.getRouting().getTenants().forEach((tenantId, node) -> {
+            DataSource tenantDataSource = createDataSource(node, "tenant-" + tenantId);
+            if (properties.getRouting().isInitializeSchema()) {
+                new ResourceDatabasePopulator(new ClassPathResource("db/startup-schema.sql")).execute(tenantDataSource);
+            }
+            tenantDataSources.put(tenantId, tenantDataSource);
+        });
+
+        return new TenantConnectionProvider(dataSource, tenantDataSources);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantRoutingHibernateProperties(TenantConnectionProvider tenantConnectionProvider) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT, MultiTenancyStrategy.DATABASE);
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, tenantConnectionProvider);
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new TenantIdentifierResolver());
+        };
+    }
+
+    private DataSource createDataSource(TenancyProperties.Node node, String poolName) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(node.getUrl())
+                .username(node.getUsername())
+                .password(node.getPassword())
+                .build();
+        dataSource.setPoolName(poolName);
+
+        return dataSource;
+    }
+
+    public static class TenantConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl {
+        private final DataSource defaultDataSource;
+        private final Map<String, DataSource> tenantDataSources;
+
+        public TenantConnectionProvider(DataSource defaultDataSource, Map<String, DataSource> tenantDataSources) {
+            this.defaultDataSource = defaultDataSource;
+            this.tenantDataSources = tenantDataSources;
+        }
+
+        @Override
+        protected DataSource selectAnyDataSource() {
+            return defaultDataSource;
+        }
+
+        @Override
+        protected DataSource selectDataSource(String tenantIdentifier) {
+            return tenantDataSources.getOrDefault(tenantIdentifier, defaultDataSource);
+        }
+
+        public void close() {
+            tenantDataSources.values().forEach(dataSource -> ((HikariDataSource) dataSource).close());
+        }
+    }
+
+    static class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+        @Override
+        public String resolveCurrentTenantIdentifier() {
+            return TenantContext.getTenantId();
+        }
+
+        @Override
+        public boolean validateExistingCurrentSessions() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.beerstock.controller;
+
+import com.beerstock.catalog.BeerCatalogSnapshotService;
+import com.beerstock.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Lives under its own prefix, so its literal paths do not shadow beers of the same name on
+ * {@code GET /api/v1/beer/{beerName}}.
+ */
+@RestController
+@RequestMapping("/api/v1/beer-catalog")
+@ConditionalOnProperty(prefix = "beerstock.catalog.snapshot", name = "enabled", havingValue = "true")
+public class BeerCatalogController {
+    @Autowired
+    private BeerCatalogSnapshotService beerCatalogSnapshotService;
+
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> listAllFromSnapshot() {
+        String tenantId = TenantContext.getTenantId();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> beerCatalogSnapshotService.writeJson(tenantId, outputStream));
+    }
+}
@@ -2,17 +2,24 @@ package com.beerstock.controller;
 
 import com.beerstock.dto.BeerDTO;
 import com.beerstock.dto.QuantityDTO;
+import com.beerstock.dto.StockLevelDTO;
 import com.beerstock.exception.BeerAlreadyRegisteredException;
 import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.BeerRuleViolationException;
 import com.beerstock.exception.BeerStockExceededException;
 import com.beerstock.exception.BeerStockLessThanZero;
+import com.beerstock.exception.InvalidQuantityException;
+import com.beerstock.exception.StockWritePipelineStoppedException;
+import com.beerstock.exception.StockWriteQueueFullException;
 import com.beerstock.service.BeerService;
+import com.beerstock.service.StockWritePipeline;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/beer")
@@ -20,6 +27,9 @@ public class BeerController {
     @Autowired
     private BeerService beerService;
 
+    @Autowired(required = false)
+    private StockWritePipeline stockWritePipeline;
+
     @PostMapping
     public ResponseEntity<BeerDTO> createBeer(@RequestBody @Valid BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
         BeerDTO createdBeer = beerService.createBeer(beerDTO);
@@ -56,16 +66,44 @@ public class BeerController {
     }
 
     @PatchMapping("/{id}/increment")
-    public ResponseEntity<BeerDTO> increment(@PathVariable(value = "id") Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException {
-        BeerDTO updatedBeer = beerService.increment(id,quantityDTO.getQuantity());
+    public CompletableFuture<ResponseEntity<BeerDTO>> increment(@PathVariable(value = "id") Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException, StockWriteQueueFullException, StockWritePipelineStoppedException {
+        if (stockWritePipeline == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok().body(beerService.increment(id,quantityDTO.getQuantity())));
+        }
 
-        return ResponseEntity.ok().body(updatedBeer);
+        return stockWritePipeline.increment(id, quantityDTO.getQuantity())
+                .thenApply(updatedBeer -> ResponseEntity.ok().body(updatedBeer));
     }
 
     @PatchMapping("/{id}/decrement")
-    public ResponseEntity<BeerDTO> decrement(@PathVariable(value = "id") Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockLessThanZero {
-        BeerDTO updatedBeer = beerService.decrement(id, quantityDTO.getQuantity());
+    public CompletableFuture<ResponseEntity<BeerDTO>> decrement(@PathVariable(value = "id") Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockLessThanZero, BeerRuleViolationException, StockWriteQueueFullException, StockWritePipelineStoppedException {
+        if (stockWritePipeline == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok().body(beerService.decrement(id, quantityDTO.getQuantity())));
+        }
 
-        return ResponseEntity.ok().body(updatedBeer);
+        return stockWritePipeline.decrement(id, quantityDTO.getQuantity())
+                .thenApply(updatedBeer -> ResponseEntity.ok().body(updatedBeer));
+    }
+
+    @PatchMapping(value = "/{id}/increment", params = "quantity")
+    public ResponseEntity<StockLevelDTO> incrementStock(@PathVariable(value = "id") Long id, @RequestParam(value = "quantity") int quantity) throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException, InvalidQuantityException {
+        StockLevelDTO stockLevel = beerService.incrementStock(id, verifyQuantity(quantity));
+
+        return ResponseEntity.ok().body(stockLevel);
+    }
+
+    @PatchMapping(value = "/{id}/decrement", params = "quantity")
+    public ResponseEntity<StockLevelDTO> decrementStock(@PathVariable(value = "id") Long id, @RequestParam(value = "quantity") int quantity) throws BeerNotFoundException, BeerStockLessThanZero, BeerRuleViolationException, InvalidQuantityException {
+        StockLevelDTO stockLevel = beerService.decrementStock(id, verifyQuantity(quantity));
+
+        return ResponseEntity.ok().body(stockLevel);
+    }
+
+    private static int verifyQuantity(int quantity) throws InvalidQuantityException {
+        if (quantity < 1 || quantity > QuantityDTO.MAX_QUANTITY) {
+            throw new InvalidQuantityException(quantity, QuantityDTO.MAX_QUANTITY);
+        }
+
+        return quantity;
     }
 }
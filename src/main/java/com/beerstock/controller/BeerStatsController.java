@@ -0,0 +1,23 @@
+package com.beerstock.controller;
+
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.service.BeerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/beer-catalog")
+public class BeerStatsController {
+    @Autowired
+    private BeerService beerService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<BeerStatsDTO> stats() {
+        BeerStatsDTO stats = beerService.stats();
+
+        return ResponseEntity.ok().body(stats);
+    }
+}
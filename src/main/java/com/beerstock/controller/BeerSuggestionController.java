@@ -0,0 +1,27 @@
+package com.beerstock.controller;
+
+import com.beerstock.dto.BeerSuggestionDTO;
+import com.beerstock.service.BeerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/beer-catalog")
+public class BeerSuggestionController {
+    @Autowired
+    private BeerService beerService;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BeerSuggestionDTO>> suggest(@RequestParam(value = "q") String query,
+                                                           @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<BeerSuggestionDTO> suggestions = beerService.suggest(query, limit);
+
+        return ResponseEntity.ok().body(suggestions);
+    }
+}
@@ -0,0 +1,26 @@
+package com.beerstock.controller;
+
+import com.beerstock.dto.ReplenishmentPlanDTO;
+import com.beerstock.replenishment.ReplenishmentPlanner;
+import com.beerstock.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/replenishment")
+@ConditionalOnProperty(prefix = "beerstock.replenishment", name = "enabled", havingValue = "true")
+public class ReplenishmentController {
+    @Autowired
+    private ReplenishmentPlanner replenishmentPlanner;
+
+    @GetMapping
+    public ResponseEntity<ReplenishmentPlanDTO> plan() {
+        ReplenishmentPlanDTO plan = replenishmentPlanner.plan(TenantContext.getTenantId());
+
+        return ResponseEntity.ok().body(plan);
+    }
+}
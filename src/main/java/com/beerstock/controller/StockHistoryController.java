@@ -0,0 +1,48 @@
+package com.beerstock.controller;
+
+import com.beerstock.dto.StockHistoryDTO;
+import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.InvalidHistoryQueryException;
+import com.beerstock.history.StockHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/v1/beer")
+@ConditionalOnProperty(prefix = "beerstock.history", name = "enabled", havingValue = "true")
+public class StockHistoryController {
+    @Autowired
+    private StockHistoryService stockHistoryService;
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<StockHistoryDTO> history(@PathVariable(value = "id") Long id,
+                                                   @RequestParam(value = "from", required = false) Instant from,
+                                                   @RequestParam(value = "to", required = false) Instant to,
+                                                   @RequestParam(value = "step", defaultValue = "1h") String step)
+            throws BeerNotFoundException, InvalidHistoryQueryException {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+
+        StockHistoryDTO history = stockHistoryService.history(id, start, end, parseStep(step));
+
+        return ResponseEntity.ok().body(history);
+    }
+
+    private static Duration parseStep(String step) throws InvalidHistoryQueryException {
+        try {
+            return DurationStyle.detectAndParse(step);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidHistoryQueryException("step " + step + " is not a duration such as 5m, 1h or PT1H");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerFillLevelDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String brand;
+
+    private Integer quantity;
+
+    private Integer maxQuantity;
+
+    private double fillRatio;
+}
@@ -0,0 +1,23 @@
+package com.beerstock.dto;
+
+import com.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerStatsDTO {
+
+    private Map<BeerType, Long> stockByType;
+
+    private Map<String, Double> fillRatioByBrand;
+
+    private List<BeerFillLevelDTO> nearestMax;
+}
@@ -0,0 +1,21 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerSuggestionDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String brand;
+
+    private double score;
+}
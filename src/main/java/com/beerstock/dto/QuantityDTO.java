@@ -5,13 +5,17 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class QuantityDTO {
+    public static final int MAX_QUANTITY = 100;
+
     @NotNull
-    @Max(100)
+    @Min(1)
+    @Max(MAX_QUANTITY)
     private Integer quantity;
 }
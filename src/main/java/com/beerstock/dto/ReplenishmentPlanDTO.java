@@ -0,0 +1,24 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplenishmentPlanDTO {
+
+    private String tenantId;
+
+    private Instant plannedAt;
+
+    private double threshold;
+
+    private List<RestockOrderDTO> orders;
+}
@@ -0,0 +1,23 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestockLineDTO {
+
+    private Long beerId;
+
+    private String name;
+
+    private int quantity;
+
+    private int maxQuantity;
+
+    private int orderQuantity;
+}
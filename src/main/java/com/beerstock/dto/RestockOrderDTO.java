@@ -0,0 +1,21 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestockOrderDTO {
+
+    private String brand;
+
+    private long totalQuantity;
+
+    private List<RestockLineDTO> lines;
+}
@@ -0,0 +1,28 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryDTO {
+
+    private Long beerId;
+
+    private Instant from;
+
+    private Instant to;
+
+    private long stepSeconds;
+
+    private String resolution;
+
+    private List<StockHistoryPointDTO> points;
+}
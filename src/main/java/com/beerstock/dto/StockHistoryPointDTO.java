@@ -0,0 +1,27 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryPointDTO {
+
+    private Instant start;
+
+    private Integer minQuantity;
+
+    private Integer maxQuantity;
+
+    private Integer lastQuantity;
+
+    private Long stockIn;
+
+    private Long stockOut;
+}
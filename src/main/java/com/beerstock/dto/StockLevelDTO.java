@@ -0,0 +1,15 @@
+package com.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelDTO {
+
+    private Long id;
+
+    private int quantity;
+}
@@ -0,0 +1,53 @@
+package com.beerstock.event;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.tenant.TenantContext;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by BeerService inside the mutating transaction. {@code quantity} is the stock after the change
+ * and {@code delta} the signed stock movement (zero for changes that are not stock movements). The tenant is
+ * taken from {@link TenantContext} when the event is created. Stock changes made through the lean stock endpoints
+ * carry no {@code beer}, since the beer is never loaded; listeners of {@code STOCK_CHANGED} only read the quantity.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BeerChangedEvent {
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STOCK_CHANGED
+    }
+
+    private final ChangeType changeType;
+    private final String tenantId;
+    private final Long beerId;
+    private final BeerDTO beer;
+    private final int quantity;
+    private final int delta;
+
+    public static BeerChangedEvent created(BeerDTO beer) {
+        return new BeerChangedEvent(ChangeType.CREATED, TenantContext.getTenantId(), beer.getId(), beer, beer.getQuantity(), beer.getQuantity());
+    }
+
+    public static BeerChangedEvent updated(BeerDTO beer, int delta) {
+        return new BeerChangedEvent(ChangeType.UPDATED, TenantContext.getTenantId(), beer.getId(), beer, beer.getQuantity(), delta);
+    }
+
+    public static BeerChangedEvent deleted(BeerDTO beer) {
+        return new BeerChangedEvent(ChangeType.DELETED, TenantContext.getTenantId(), beer.getId(), beer, 0, -beer.getQuantity());
+    }
+
+    public static BeerChangedEvent stockChanged(BeerDTO beer, int delta) {
+        return new BeerChangedEvent(ChangeType.STOCK_CHANGED, TenantContext.getTenantId(), beer.getId(), beer, beer.getQuantity(), delta);
+    }
+
+    public static BeerChangedEvent stockChanged(Long beerId, int quantity, int delta) {
+        return new BeerChangedEvent(ChangeType.STOCK_CHANGED, TenantContext.getTenantId(), beerId, null, quantity, delta);
+    }
+}
@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BeerRuleViolationException extends Exception{
+    public BeerRuleViolationException(Long id, String reason){
+        super("Beer with id " + id + " breaks a stock rule: " + reason + ".");
+    }
+}
@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidHistoryQueryException extends Exception{
+    public InvalidHistoryQueryException(String reason){
+        super("Invalid stock history query, " + reason + ".");
+    }
+}
@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidQuantityException extends Exception{
+    public InvalidQuantityException(int quantity, int maxQuantity){
+        super("Quantity " + quantity + " must be between 1 and " + maxQuantity + ".");
+    }
+}
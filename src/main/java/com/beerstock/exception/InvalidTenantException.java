@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTenantException extends Exception{
+    public InvalidTenantException(String tenantId){
+        super("Tenant " + tenantId + " is not valid.");
+    }
+}
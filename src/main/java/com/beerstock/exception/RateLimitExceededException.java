@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitExceededException extends Exception{
+    public RateLimitExceededException(String endpoint, long retryAfterSeconds){
+        super("Rate limit exceeded for " + endpoint + ". Retry after " + retryAfterSeconds + " seconds.");
+    }
+}
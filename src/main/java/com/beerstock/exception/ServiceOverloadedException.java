@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends Exception{
+    public ServiceOverloadedException(String reason, long retryAfterSeconds){
+        super("Request shed, " + reason + ". Retry after " + retryAfterSeconds + " seconds.");
+    }
+}
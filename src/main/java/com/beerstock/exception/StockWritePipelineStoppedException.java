@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StockWritePipelineStoppedException extends Exception{
+    public StockWritePipelineStoppedException(Long id){
+        super("Stock write pipeline is stopped, mutation for beer with ID: " + id + " was rejected. Try again later.");
+    }
+}
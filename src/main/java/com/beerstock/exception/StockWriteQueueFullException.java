@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class StockWriteQueueFullException extends Exception{
+    public StockWriteQueueFullException(Long id){
+        super("Stock write queue is full, mutation for beer with ID: " + id + " was rejected. Try again later.");
+    }
+}
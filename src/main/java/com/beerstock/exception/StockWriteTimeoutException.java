@@ -0,0 +1,11 @@
+package com.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StockWriteTimeoutException extends Exception{
+    public StockWriteTimeoutException(Long id){
+        super("Timed out waiting for the stock write pipeline, mutation for beer with ID: " + id + " was not applied. Try again later.");
+    }
+}
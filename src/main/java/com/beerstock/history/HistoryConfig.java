@@ -0,0 +1,25 @@
+package com.beerstock.history;
+
+import com.beerstock.tenant.TenancyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@ConditionalOnProperty(prefix = "beerstock.history", name = "enabled", havingValue = "true")
+public class HistoryConfig {
+
+    @Bean
+    public StockHistoryRollup stockHistoryRollup(StockSampleRepository sampleRepository,
+                                                 StockBucketRepository bucketRepository,
+                                                 StockHistoryCursorRepository cursorRepository,
+                                                 PlatformTransactionManager transactionManager,
+                                                 HistoryProperties properties,
+                                                 MeterRegistry meterRegistry,
+                                                 TenancyProperties tenancyProperties) {
+        return new StockHistoryRollup(sampleRepository, bucketRepository, cursorRepository, transactionManager,
+                properties, meterRegistry, tenancyProperties.getDatabaseTenantIds());
+    }
+}
@@ -0,0 +1,44 @@
+package com.beerstock.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.history")
+public class HistoryProperties {
+    private boolean enabled;
+
+    private long rollupInterval = 60000;
+
+    private long settleWindow = 5000;
+
+    private int windowBuckets = 60;
+
+    private int maxPoints = 2000;
+
+    private long rawRetention = 86400000;
+
+    private long minuteRetention = 604800000;
+
+    private long hourRetention = 7776000000L;
+
+    private long dayRetention;
+
+    private long pruneInterval = 3600000;
+
+    /**
+     * Retention of a resolution in milliseconds, zero to keep it forever.
+     */
+    public long getRetention(HistoryResolution resolution) {
+        switch (resolution) {
+            case RAW:
+                return rawRetention;
+            case MINUTE:
+                return minuteRetention;
+            case HOUR:
+                return hourRetention;
+            default:
+                return dayRetention;
+        }
+    }
+}
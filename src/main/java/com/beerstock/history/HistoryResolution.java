@@ -0,0 +1,42 @@
+package com.beerstock.history;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The resolutions stock history is kept at, finest first. {@code RAW} is the individual samples; the others
+ * are UTC-aligned buckets rolled up from the resolution before them.
+ */
+public enum HistoryResolution {
+    RAW(Duration.ZERO),
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration duration;
+
+    HistoryResolution(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Instant truncate(Instant instant) {
+        if (this == RAW) {
+            return instant;
+        }
+
+        long millis = duration.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), millis) * millis);
+    }
+
+    public HistoryResolution finer() {
+        return this == RAW ? RAW : values()[ordinal() - 1];
+    }
+
+    public HistoryResolution coarser() {
+        return this == DAY ? DAY : values()[ordinal() + 1];
+    }
+}
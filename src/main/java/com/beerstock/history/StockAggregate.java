@@ -0,0 +1,55 @@
+package com.beerstock.history;
+
+import com.beerstock.dto.StockHistoryPointDTO;
+
+import java.time.Instant;
+
+/**
+ * Folds samples or finer buckets, fed in time order, into one bucket.
+ */
+class StockAggregate {
+    private int minQuantity = Integer.MAX_VALUE;
+    private int maxQuantity = Integer.MIN_VALUE;
+    private int lastQuantity;
+    private long stockIn;
+    private long stockOut;
+
+    void add(StockSample sample) {
+        accept(sample.getQuantity(), sample.getQuantity(), sample.getQuantity());
+        if (sample.getDelta() > 0) {
+            stockIn += sample.getDelta();
+        } else {
+            stockOut -= sample.getDelta();
+        }
+    }
+
+    void add(StockBucket bucket) {
+        accept(bucket.getMinQuantity(), bucket.getMaxQuantity(), bucket.getLastQuantity());
+        stockIn += bucket.getStockIn();
+        stockOut += bucket.getStockOut();
+    }
+
+    StockBucket toBucket(String tenantId, Long beerId, HistoryResolution resolution, Instant bucketStart) {
+        return StockBucket.builder()
+                .tenantId(tenantId)
+                .beerId(beerId)
+                .resolution(resolution)
+                .bucketStart(bucketStart)
+                .minQuantity(minQuantity)
+                .maxQuantity(maxQuantity)
+                .lastQuantity(lastQuantity)
+                .stockIn(stockIn)
+                .stockOut(stockOut)
+                .build();
+    }
+
+    StockHistoryPointDTO toPoint(Instant start) {
+        return new StockHistoryPointDTO(start, minQuantity, maxQuantity, lastQuantity, stockIn, stockOut);
+    }
+
+    private void accept(int min, int max, int last) {
+        minQuantity = Math.min(minQuantity, min);
+        maxQuantity = Math.max(maxQuantity, max);
+        lastQuantity = last;
+    }
+}
@@ -0,0 +1,55 @@
+package com.beerstock.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Stock of one beer over one bucket: the lowest, highest and closing quantity, and the units that came in
+ * and went out.
+ */
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stock_bucket", uniqueConstraints = @UniqueConstraint(name = "uk_stock_bucket",
+        columnNames = {"tenant_id", "beer_id", "resolution", "bucket_start"}))
+public class StockBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_bucket_seq")
+    @SequenceGenerator(name = "stock_bucket_seq", sequenceName = "stock_bucket_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private HistoryResolution resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private Integer minQuantity;
+
+    @Column(nullable = false)
+    private Integer maxQuantity;
+
+    @Column(nullable = false)
+    private Integer lastQuantity;
+
+    @Column(nullable = false)
+    private Long stockIn;
+
+    @Column(nullable = false)
+    private Long stockOut;
+}
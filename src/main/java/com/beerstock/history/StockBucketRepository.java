@@ -0,0 +1,36 @@
+package com.beerstock.history;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface StockBucketRepository extends JpaRepository<StockBucket, Long> {
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b from StockBucket b where b.resolution = :resolution"
+            + " and b.bucketStart >= :from and b.bucketStart < :to order by b.bucketStart, b.id")
+    Stream<StockBucket> streamBetween(@Param("resolution") HistoryResolution resolution,
+                                      @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select b from StockBucket b where b.tenantId = :tenantId and b.beerId = :beerId and b.resolution = :resolution"
+            + " and b.bucketStart >= :from and b.bucketStart < :to order by b.bucketStart")
+    List<StockBucket> findForBeer(@Param("tenantId") String tenantId, @Param("beerId") Long beerId,
+                                  @Param("resolution") HistoryResolution resolution,
+                                  @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select min(b.bucketStart) from StockBucket b where b.resolution = :resolution")
+    Instant findEarliestBucketStart(@Param("resolution") HistoryResolution resolution);
+
+    @Modifying
+    @Query("delete from StockBucket b where b.resolution = :resolution and b.bucketStart < :before")
+    int deleteOlderThan(@Param("resolution") HistoryResolution resolution, @Param("before") Instant before);
+}
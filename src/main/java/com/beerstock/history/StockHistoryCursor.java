@@ -0,0 +1,26 @@
+package com.beerstock.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * How far the source data has been rolled up into a resolution, by {@link HistoryResolution} name: everything
+ * before {@code watermark} is in its buckets.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stock_history_cursor")
+public class StockHistoryCursor {
+    @Id
+    @Column(length = 16)
+    private String resolution;
+
+    @Column(nullable = false)
+    private Instant watermark;
+}
@@ -0,0 +1,6 @@
+package com.beerstock.history;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockHistoryCursorRepository extends JpaRepository<StockHistoryCursor, String> {
+}
@@ -0,0 +1,207 @@
+package com.beerstock.history;
+
+import com.beerstock.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rolls raw stock samples up into minute buckets, minute buckets into hour buckets and hour buckets into day
+ * buckets, then drops whatever is past the retention of its resolution. Each resolution has a watermark in
+ * {@code stock_history_cursor}; only whole periods before the watermark of the finer resolution are rolled,
+ * and samples younger than the settle window are left for the next run so late commits are not missed.
+ * Data is never pruned before it has been rolled into the next resolution.
+ */
+@Slf4j
+public class StockHistoryRollup {
+    private final StockSampleRepository sampleRepository;
+    private final StockBucketRepository bucketRepository;
+    private final StockHistoryCursorRepository cursorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final HistoryProperties properties;
+    private final List<String> tenantIds;
+    private final Counter bucketsWritten;
+
+    public StockHistoryRollup(StockSampleRepository sampleRepository,
+                              StockBucketRepository bucketRepository,
+                              StockHistoryCursorRepository cursorRepository,
+                              PlatformTransactionManager transactionManager,
+                              HistoryProperties properties,
+                              MeterRegistry meterRegistry,
+                              List<String> tenantIds) {
+        this.sampleRepository = sampleRepository;
+        this.bucketRepository = bucketRepository;
+        this.cursorRepository = cursorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.tenantIds = tenantIds;
+        this.bucketsWritten = Counter.builder("beerstock.history.buckets.written")
+                .description("Stock history buckets written by the rollup")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.history.rollup-interval:60000}")
+    public void rollUp() {
+        for (String tenantId : tenantIds) {
+            TenantContext.setTenantId(tenantId);
+            try {
+                int written = rollUp(Instant.now());
+                if (written > 0) {
+                    log.debug("Rolled up {} stock history buckets of tenant {}", written, tenantId);
+                }
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.history.prune-interval:3600000}")
+    public void prune() {
+        for (String tenantId : tenantIds) {
+            TenantContext.setTenantId(tenantId);
+            try {
+                prune(Instant.now());
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    int rollUp(Instant now) {
+        Instant sampleEnd = HistoryResolution.MINUTE.truncate(now.minusMillis(properties.getSettleWindow()));
+        int written = rollUpSamples(sampleEnd);
+
+        for (HistoryResolution target : new HistoryResolution[]{HistoryResolution.HOUR, HistoryResolution.DAY}) {
+            Instant sourceWatermark = watermark(target.finer());
+            if (sourceWatermark != null) {
+                written += rollUpBuckets(target, target.truncate(sourceWatermark));
+            }
+        }
+
+        bucketsWritten.increment(written);
+        return written;
+    }
+
+    void prune(Instant now) {
+        for (HistoryResolution resolution : HistoryResolution.values()) {
+            long retention = properties.getRetention(resolution);
+            Instant rolledUntil = resolution == HistoryResolution.DAY ? now : watermark(resolution.coarser());
+            if (retention <= 0 || rolledUntil == null) {
+                continue;
+            }
+
+            Instant expired = now.minusMillis(retention);
+            Instant before = expired.isBefore(rolledUntil) ? expired : rolledUntil;
+            Integer deleted = transactionTemplate.execute(status -> resolution == HistoryResolution.RAW
+                    ? sampleRepository.deleteOlderThan(before)
+                    : bucketRepository.deleteOlderThan(resolution, before));
+
+            if (deleted != null && deleted > 0) {
+                log.debug("Pruned {} {} stock history rows", deleted, resolution);
+            }
+        }
+    }
+
+    private int rollUpSamples(Instant end) {
+        Instant start = watermark(HistoryResolution.MINUTE);
+        if (start == null) {
+            Instant earliest = transactionTemplate.execute(status -> sampleRepository.findEarliestSampledAt());
+            start = earliest == null ? end : HistoryResolution.MINUTE.truncate(earliest);
+        }
+
+        int written = 0;
+        while (start.isBefore(end)) {
+            Instant from = start;
+            Instant to = windowEnd(HistoryResolution.MINUTE, from, end);
+
+            Integer saved = transactionTemplate.execute(status -> {
+                Map<BucketKey, StockAggregate> aggregates = new LinkedHashMap<>();
+                try (Stream<StockSample> samples = sampleRepository.streamBetween(from, to)) {
+                    samples.forEach(sample -> aggregate(aggregates, sample.getTenantId(), sample.getBeerId(),
+                            HistoryResolution.MINUTE.truncate(sample.getSampledAt())).add(sample));
+                }
+                return save(aggregates, HistoryResolution.MINUTE, to);
+            });
+
+            written += saved == null ? 0 : saved;
+            start = to;
+        }
+
+        return written;
+    }
+
+    private int rollUpBuckets(HistoryResolution target, Instant end) {
+        HistoryResolution source = target.finer();
+        Instant start = watermark(target);
+        if (start == null) {
+            Instant earliest = transactionTemplate.execute(status -> bucketRepository.findEarliestBucketStart(source));
+            start = earliest == null ? end : target.truncate(earliest);
+        }
+
+        int written = 0;
+        while (start.isBefore(end)) {
+            Instant from = start;
+            Instant to = windowEnd(target, from, end);
+
+            Integer saved = transactionTemplate.execute(status -> {
+                Map<BucketKey, StockAggregate> aggregates = new LinkedHashMap<>();
+                try (Stream<StockBucket> buckets = bucketRepository.streamBetween(source, from, to)) {
+                    buckets.forEach(bucket -> aggregate(aggregates, bucket.getTenantId(), bucket.getBeerId(),
+                            target.truncate(bucket.getBucketStart())).add(bucket));
+                }
+                return save(aggregates, target, to);
+            });
+
+            written += saved == null ? 0 : saved;
+            start = to;
+        }
+
+        return written;
+    }
+
+    private int save(Map<BucketKey, StockAggregate> aggregates, HistoryResolution resolution, Instant watermark) {
+        List<StockBucket> buckets = new ArrayList<>(aggregates.size());
+        aggregates.forEach((key, aggregate) ->
+                buckets.add(aggregate.toBucket(key.getTenantId(), key.getBeerId(), resolution, key.getBucketStart())));
+
+        bucketRepository.saveAll(buckets);
+        cursorRepository.save(new StockHistoryCursor(resolution.name(), watermark));
+
+        return buckets.size();
+    }
+
+    private Instant windowEnd(HistoryResolution resolution, Instant from, Instant end) {
+        Instant windowEnd = from.plus(resolution.getDuration().multipliedBy(properties.getWindowBuckets()));
+
+        return windowEnd.isBefore(end) ? windowEnd : end;
+    }
+
+    private Instant watermark(HistoryResolution resolution) {
+        return transactionTemplate.execute(status -> cursorRepository.findById(resolution.name())
+                .map(StockHistoryCursor::getWatermark)
+                .orElse(null));
+    }
+
+    private static StockAggregate aggregate(Map<BucketKey, StockAggregate> aggregates, String tenantId, Long beerId,
+                                            Instant bucketStart) {
+        return aggregates.computeIfAbsent(new BucketKey(tenantId, beerId, bucketStart), key -> new StockAggregate());
+    }
+
+    @Value
+    private static class BucketKey {
+        String tenantId;
+        Long beerId;
+        Instant bucketStart;
+    }
+}
@@ -0,0 +1,121 @@
+package com.beerstock.history;
+
+import com.beerstock.dto.StockHistoryDTO;
+import com.beerstock.dto.StockHistoryPointDTO;
+import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.InvalidHistoryQueryException;
+import com.beerstock.repository.BeerStore;
+import com.beerstock.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Range queries over the stock history. A query is served from the coarsest resolution whose buckets are no
+ * wider than the step, moving to a coarser one when the range starts before the retention of that resolution.
+ * The part of the range after the watermark of the chosen resolution, not rolled up yet, is filled from the
+ * finer resolutions down to the raw samples, and everything is re-aggregated into step-aligned points.
+ */
+@Service
+@ConditionalOnProperty(prefix = "beerstock.history", name = "enabled", havingValue = "true")
+public class StockHistoryService {
+    @Autowired
+    private BeerStore beerStore;
+    @Autowired
+    private StockSampleRepository sampleRepository;
+    @Autowired
+    private StockBucketRepository bucketRepository;
+    @Autowired
+    private StockHistoryCursorRepository cursorRepository;
+    @Autowired
+    private HistoryProperties properties;
+
+    @Transactional(readOnly = true)
+    public StockHistoryDTO history(Long beerId, Instant from, Instant to, Duration step)
+            throws BeerNotFoundException, InvalidHistoryQueryException {
+        if (!from.isBefore(to)) {
+            throw new InvalidHistoryQueryException("from must be before to");
+        }
+        if (step.isNegative() || step.isZero()) {
+            throw new InvalidHistoryQueryException("step must be positive");
+        }
+        long stepMillis = Math.max(1, step.toMillis());
+        if ((Duration.between(from, to).toMillis() + stepMillis - 1) / stepMillis > properties.getMaxPoints()) {
+            throw new InvalidHistoryQueryException("more than " + properties.getMaxPoints() + " points requested, use a larger step");
+        }
+
+        String tenantId = TenantContext.getTenantId();
+        if (beerStore.findByTenantIdAndId(tenantId, beerId).isEmpty()) {
+            throw new BeerNotFoundException(beerId);
+        }
+
+        HistoryResolution resolution = resolutionFor(step, from, Instant.now());
+        Map<Instant, StockAggregate> aggregates = new TreeMap<>();
+        collect(tenantId, beerId, resolution, from, to, stepMillis, aggregates);
+
+        List<StockHistoryPointDTO> points = new ArrayList<>(aggregates.size());
+        aggregates.forEach((start, aggregate) -> points.add(aggregate.toPoint(start)));
+
+        return new StockHistoryDTO(beerId, from, to, stepMillis / 1000, resolution.name(), points);
+    }
+
+    HistoryResolution resolutionFor(Duration step, Instant from, Instant now) {
+        HistoryResolution resolution = HistoryResolution.RAW;
+        for (HistoryResolution candidate : HistoryResolution.values()) {
+            if (candidate != HistoryResolution.RAW && candidate.getDuration().compareTo(step) <= 0) {
+                resolution = candidate;
+            }
+        }
+
+        while (resolution != HistoryResolution.DAY) {
+            long retention = properties.getRetention(resolution);
+            if (retention <= 0 || !from.isBefore(now.minusMillis(retention))) {
+                break;
+            }
+            resolution = resolution.coarser();
+        }
+
+        return resolution;
+    }
+
+    private void collect(String tenantId, Long beerId, HistoryResolution resolution, Instant from, Instant to,
+                         long stepMillis, Map<Instant, StockAggregate> aggregates) {
+        if (resolution == HistoryResolution.RAW) {
+            for (StockSample sample : sampleRepository.findForBeer(tenantId, beerId, from, to)) {
+                aggregate(aggregates, sample.getSampledAt(), stepMillis).add(sample);
+            }
+            return;
+        }
+
+        Instant watermark = cursorRepository.findById(resolution.name())
+                .map(StockHistoryCursor::getWatermark)
+                .orElse(from);
+        Instant rolledUntil = watermark.isBefore(to) ? watermark : to;
+
+        if (rolledUntil.isAfter(from)) {
+            List<StockBucket> buckets = bucketRepository.findForBeer(tenantId, beerId, resolution, resolution.truncate(from), rolledUntil);
+            for (StockBucket bucket : buckets) {
+                aggregate(aggregates, bucket.getBucketStart(), stepMillis).add(bucket);
+            }
+        }
+
+        if (rolledUntil.isBefore(to)) {
+            Instant tailFrom = rolledUntil.isAfter(from) ? rolledUntil : from;
+            collect(tenantId, beerId, resolution.finer(), tailFrom, to, stepMillis, aggregates);
+        }
+    }
+
+    private static StockAggregate aggregate(Map<Instant, StockAggregate> aggregates, Instant instant, long stepMillis) {
+        Instant start = Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), stepMillis) * stepMillis);
+
+        return aggregates.computeIfAbsent(start, key -> new StockAggregate());
+    }
+}
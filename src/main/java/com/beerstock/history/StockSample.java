@@ -0,0 +1,39 @@
+package com.beerstock.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stock_sample", indexes = {
+        @Index(name = "ix_stock_sample_time", columnList = "sampled_at"),
+        @Index(name = "ix_stock_sample_beer", columnList = "tenant_id, beer_id, sampled_at")})
+public class StockSample {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_sample_seq")
+    @SequenceGenerator(name = "stock_sample_seq", sequenceName = "stock_sample_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    @Column(name = "sampled_at", nullable = false)
+    private Instant sampledAt;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer delta;
+}
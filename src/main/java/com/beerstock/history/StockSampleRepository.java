@@ -0,0 +1,33 @@
+package com.beerstock.history;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface StockSampleRepository extends JpaRepository<StockSample, Long> {
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select s from StockSample s where s.sampledAt >= :from and s.sampledAt < :to order by s.sampledAt, s.id")
+    Stream<StockSample> streamBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select s from StockSample s where s.tenantId = :tenantId and s.beerId = :beerId"
+            + " and s.sampledAt >= :from and s.sampledAt < :to order by s.sampledAt, s.id")
+    List<StockSample> findForBeer(@Param("tenantId") String tenantId, @Param("beerId") Long beerId,
+                                  @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select min(s.sampledAt) from StockSample s")
+    Instant findEarliestSampledAt();
+
+    @Modifying
+    @Query("delete from StockSample s where s.sampledAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -0,0 +1,35 @@
+package com.beerstock.history;
+
+import com.beerstock.event.BeerChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Records a raw stock sample for every change that leaves the beer in stock, in the transaction of the
+ * mutation, so the history only contains committed quantities.
+ */
+@Component
+@ConditionalOnProperty(prefix = "beerstock.history", name = "enabled", havingValue = "true")
+public class StockSampleWriter {
+    @Autowired
+    private StockSampleRepository stockSampleRepository;
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (event.getChangeType() == BeerChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+
+        stockSampleRepository.save(StockSample.builder()
+                .tenantId(event.getTenantId())
+                .beerId(event.getBeerId())
+                .sampledAt(Instant.now())
+                .quantity(event.getQuantity())
+                .delta(event.getDelta())
+                .build());
+    }
+}
@@ -3,6 +3,7 @@ package com.beerstock.mapper;
 import com.beerstock.dto.BeerDTO;
 import com.beerstock.entity.Beer;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -11,5 +12,6 @@ public interface BeerMapper {
 
     BeerDTO beerToBeerDTO(Beer beer);
 
+    @Mapping(target = "tenantId", ignore = true)
     Beer beerDTOToBeer(BeerDTO beerDTO);
 }
@@ -0,0 +1,37 @@
+package com.beerstock.outbox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broker stand-in for tests and local runs: keeps every published event, partitioned by beer id the way a
+ * keyed topic would be.
+ */
+public class InMemoryBrokerSink implements OutboxSink {
+    private final List<OutboxEvent> events = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Long, List<OutboxEvent>> partitions = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            events.add(event);
+            partitions.computeIfAbsent(event.getBeerId(), beerId -> Collections.synchronizedList(new ArrayList<>())).add(event);
+        }
+    }
+
+    public List<OutboxEvent> getEvents() {
+        synchronized (events) {
+            return new ArrayList<>(events);
+        }
+    }
+
+    public List<OutboxEvent> getPartition(Long beerId) {
+        List<OutboxEvent> partition = partitions.getOrDefault(beerId, Collections.emptyList());
+        synchronized (partition) {
+            return new ArrayList<>(partition);
+        }
+    }
+}
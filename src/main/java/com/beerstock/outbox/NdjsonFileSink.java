@@ -0,0 +1,55 @@
+package com.beerstock.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one JSON line per event to a file that downstream systems tail. Each batch is a single write,
+ * optionally forced to disk before the relay moves its cursor.
+ */
+public class NdjsonFileSink implements OutboxSink, AutoCloseable {
+    private final FileChannel channel;
+    private final boolean sync;
+
+    public NdjsonFileSink(Path file, boolean sync) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.sync = sync;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+
+        for (OutboxEvent event : events) {
+            lines.append("{\"id\":").append(event.getId())
+                    .append(",\"beerId\":").append(event.getBeerId())
+                    .append(",\"changeType\":\"").append(event.getChangeType())
+                    .append("\",\"createdAt\":\"").append(event.getCreatedAt())
+                    .append("\",\"event\":").append(event.getPayload())
+                    .append("}\n");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,41 @@
+package com.beerstock.outbox;
+
+import com.beerstock.tenant.TenancyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(prefix = "beerstock.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "beerstock.outbox", name = "sink", havingValue = "file", matchIfMissing = true)
+    public NdjsonFileSink ndjsonFileSink(OutboxProperties properties) throws IOException {
+        return new NdjsonFileSink(Path.of(properties.getFile()), properties.isSyncFile());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "beerstock.outbox", name = "sink", havingValue = "memory")
+    public InMemoryBrokerSink inMemoryBrokerSink() {
+        return new InMemoryBrokerSink();
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxEventRepository eventRepository,
+                                   OutboxCursorRepository cursorRepository,
+                                   OutboxGapRepository gapRepository,
+                                   OutboxSink sink,
+                                   PlatformTransactionManager transactionManager,
+                                   OutboxProperties properties,
+                                   MeterRegistry meterRegistry,
+                                   TenancyProperties tenancyProperties) {
+        return new OutboxRelay(eventRepository, cursorRepository, gapRepository, sink, transactionManager, properties, meterRegistry,
+                tenancyProperties.getDatabaseTenantIds());
+    }
+}
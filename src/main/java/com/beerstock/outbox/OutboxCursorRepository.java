@@ -0,0 +1,6 @@
+package com.beerstock.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxCursorRepository extends JpaRepository<OutboxCursor, String> {
+}
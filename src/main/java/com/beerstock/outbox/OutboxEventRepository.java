@@ -0,0 +1,22 @@
+package com.beerstock.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+
+    List<OutboxEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id <= :cursor and e.createdAt < :before")
+    int deletePublished(@Param("cursor") Long cursor, @Param("before") Instant before);
+}
@@ -0,0 +1,21 @@
+package com.beerstock.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "outbox_gap")
+public class OutboxGap {
+    @Id
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Instant giveUpAt;
+}
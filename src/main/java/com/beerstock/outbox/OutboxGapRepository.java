@@ -0,0 +1,6 @@
+package com.beerstock.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxGapRepository extends JpaRepository<OutboxGap, Long> {
+}
@@ -0,0 +1,32 @@
+package com.beerstock.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.outbox")
+public class OutboxProperties {
+    private boolean enabled;
+
+    private String sink = "file";
+
+    private String file = "./data/outbox/beer-events.ndjson";
+
+    private boolean syncFile = true;
+
+    private int batchSize = 500;
+
+    private long pollInterval = 200;
+
+    private long settleWindow = 5000;
+
+    /**
+     * How long ids skipped as a gap keep being re-read, so a transaction that commits after the settle window
+     * is still delivered.
+     */
+    private long gapTimeout = 300000;
+
+    private long retention = 3600000;
+
+    private long pruneInterval = 60000;
+}
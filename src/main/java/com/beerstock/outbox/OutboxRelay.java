@@ -0,0 +1,315 @@
+package com.beerstock.outbox;
+
+import com.beerstock.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Tails the outbox table in id order and hands batches to the {@link OutboxSink}, moving a persisted cursor
+ * only after the sink accepted a batch (at-least-once). Ids are allocated before commit, so a transaction can
+ * commit a lower id after higher ones were read: when the next id is missing, the relay waits until the event
+ * after the gap is older than the settle window before moving past it. The skipped ids are persisted with the
+ * cursor and re-read on every run for {@code gap-timeout}, across restarts too; only ids still missing after
+ * that are treated as rolled back.
+ * {@link OutboxWriter} locks the beer row before taking an id, so a later event of a beer is only allocated
+ * after the earlier one committed. The skipped ids are re-read after each batch is read, which publishes an
+ * event that committed late before any later event of its beer, keeping the events of each beer in order.
+ * With database-per-tenant routing every tenant database has its own outbox table, cursor and gaps, and the
+ * relay tails them one after the other.
+ */
+@Slf4j
+public class OutboxRelay {
+    static final String CURSOR_NAME = "relay";
+    static final int MAX_PENDING_GAP_IDS = 10000;
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxCursorRepository cursorRepository;
+    private final OutboxGapRepository gapRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final OutboxProperties properties;
+    private final List<String> tenantIds;
+    private final Map<String, Long> cursors = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, Instant>> gapsByTenant = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter late;
+    private final Counter abandoned;
+    private final DistributionSummary batchSize;
+
+    private volatile double eventsPerSecond;
+
+    public OutboxRelay(OutboxEventRepository eventRepository,
+                       OutboxCursorRepository cursorRepository,
+                       OutboxGapRepository gapRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this(eventRepository, cursorRepository, gapRepository, sink, transactionManager, properties, meterRegistry,
+                List.of(TenantContext.DEFAULT_TENANT));
+    }
+
+    public OutboxRelay(OutboxEventRepository eventRepository,
+                       OutboxCursorRepository cursorRepository,
+                       OutboxGapRepository gapRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry,
+                       List<String> tenantIds) {
+        this.eventRepository = eventRepository;
+        this.cursorRepository = cursorRepository;
+        this.gapRepository = gapRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = properties;
+        this.tenantIds = tenantIds;
+        this.published = Counter.builder("beerstock.outbox.published")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.late = Counter.builder("beerstock.outbox.gap.ids")
+                .description("Outbox ids skipped as a gap")
+                .tag("result", "published")
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("beerstock.outbox.gap.ids")
+                .description("Outbox ids skipped as a gap")
+                .tag("result", "abandoned")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("beerstock.outbox.batch.size")
+                .description("Outbox events published per batch")
+                .register(meterRegistry);
+
+        Gauge.builder("beerstock.outbox.throughput", this, OutboxRelay::getEventsPerSecond)
+                .description("Events per second of the last relay run")
+                .baseUnit("events/s")
+                .register(meterRegistry);
+        Gauge.builder("beerstock.outbox.cursor", this, OutboxRelay::getCursor)
+                .description("Id of the last outbox event of the default tenant handed to the sink")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.outbox.poll-interval:200}")
+    public void relay() throws Exception {
+        long startedAt = System.nanoTime();
+        double publishedBefore = published.count();
+
+        for (String tenantId : tenantIds) {
+            TenantContext.setTenantId(tenantId);
+            try {
+                int relayed;
+                do {
+                    relayed = relayBatch(Instant.now());
+                } while (relayed == properties.getBatchSize());
+            } finally {
+                TenantContext.clear();
+            }
+        }
+
+        double total = published.count() - publishedBefore;
+
+        if (total > 0) {
+            double seconds = Math.max(System.nanoTime() - startedAt, 1) / 1e9;
+            eventsPerSecond = total / seconds;
+            log.debug("Relayed {} outbox events at {} events/s", Math.round(total), Math.round(eventsPerSecond));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.outbox.prune-interval:60000}")
+    public void prune() {
+        Instant before = Instant.now().minusMillis(properties.getRetention());
+
+        for (String tenantId : tenantIds) {
+            TenantContext.setTenantId(tenantId);
+            try {
+                long position = getCursor();
+                NavigableMap<Long, Instant> gaps = getGaps();
+                if (!gaps.isEmpty()) {
+                    position = Math.min(position, gaps.firstKey() - 1);
+                }
+                if (position <= 0) {
+                    continue;
+                }
+                long prunedUpTo = position;
+
+                Integer deleted = transactionTemplate.execute(status -> eventRepository.deletePublished(prunedUpTo, before));
+                if (deleted != null && deleted > 0) {
+                    log.debug("Pruned {} published outbox events of tenant {}", deleted, tenantId);
+                }
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    /**
+     * Publishes the next batch after the cursor. The skipped ids are re-read once the batch has been read, so a
+     * late event committed before a later event of its beer in the batch is published ahead of it.
+     */
+    int relayBatch(Instant now) throws Exception {
+        long position = getCursor();
+        List<OutboxEvent> batch = readOnlyTransactionTemplate.execute(status ->
+                eventRepository.findByIdGreaterThanOrderByIdAsc(position, PageRequest.of(0, properties.getBatchSize())));
+        relayLate(now);
+
+        List<Long> skipped = new ArrayList<>();
+        List<OutboxEvent> ready = settled(position, batch == null ? Collections.emptyList() : batch, now, skipped);
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        sink.publish(ready);
+
+        long next = ready.get(ready.size() - 1).getId();
+        List<OutboxGap> gaps = newGaps(skipped, now);
+        transactionTemplate.executeWithoutResult(status -> {
+            cursorRepository.save(new OutboxCursor(CURSOR_NAME, next));
+            gapRepository.saveAll(gaps);
+        });
+        cursors.put(TenantContext.getTenantId(), next);
+        gaps.forEach(gap -> getGaps().put(gap.getEventId(), gap.getGiveUpAt()));
+
+        published.increment(ready.size());
+        batchSize.record(ready.size());
+
+        return ready.size();
+    }
+
+    /**
+     * Publishes the events of the tenant's skipped ids that committed since, and gives up on the ids skipped
+     * longer than {@code gap-timeout} ago.
+     */
+    int relayLate(Instant now) throws Exception {
+        NavigableMap<Long, Instant> gaps = getGaps();
+        if (gaps.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> expired = new ArrayList<>();
+        gaps.forEach((id, giveUpAt) -> {
+            if (giveUpAt.isBefore(now)) {
+                expired.add(id);
+            }
+        });
+        if (!expired.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> gapRepository.deleteAllByIdInBatch(expired));
+            expired.forEach(gaps::remove);
+            abandoned.increment(expired.size());
+            log.warn("Gave up on {} outbox ids of tenant {} that never committed", expired.size(), TenantContext.getTenantId());
+        }
+        if (gaps.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(gaps.keySet());
+        List<OutboxEvent> found = readOnlyTransactionTemplate.execute(status -> eventRepository.findByIdInOrderByIdAsc(ids));
+        if (found == null || found.isEmpty()) {
+            return 0;
+        }
+
+        sink.publish(found);
+        List<Long> foundIds = new ArrayList<>(found.size());
+        found.forEach(event -> foundIds.add(event.getId()));
+        transactionTemplate.executeWithoutResult(status -> gapRepository.deleteAllByIdInBatch(foundIds));
+        foundIds.forEach(gaps::remove);
+
+        late.increment(found.size());
+        published.increment(found.size());
+        log.info("Published {} outbox events of tenant {} that committed after their gap was skipped",
+                found.size(), TenantContext.getTenantId());
+
+        return found.size();
+    }
+
+    /**
+     * The gaps to persist for the skipped ids, up to {@link #MAX_PENDING_GAP_IDS} pending per tenant.
+     */
+    private List<OutboxGap> newGaps(List<Long> skipped, Instant now) {
+        List<OutboxGap> gaps = new ArrayList<>(skipped.size());
+        int pending = getGaps().size();
+        Instant giveUpAt = now.plusMillis(properties.getGapTimeout());
+
+        for (Long id : skipped) {
+            if (pending + gaps.size() == MAX_PENDING_GAP_IDS) {
+                abandoned.increment();
+                log.warn("Too many outbox ids waiting for a late commit, not tracking id {} of tenant {}", id, TenantContext.getTenantId());
+                continue;
+            }
+            gaps.add(new OutboxGap(id, giveUpAt));
+        }
+
+        return gaps;
+    }
+
+    /**
+     * The prefix of {@code batch} that can be published now: stops before a missing id unless the event after
+     * it has settled. The ids of the gaps it moves past are added to {@code skipped}.
+     */
+    private List<OutboxEvent> settled(long position, List<OutboxEvent> batch, Instant now, List<Long> skipped) {
+        Instant settledBefore = now.minus(Duration.ofMillis(properties.getSettleWindow()));
+        List<OutboxEvent> ready = new ArrayList<>(batch.size());
+        long expected = position + 1;
+
+        for (OutboxEvent event : batch) {
+            if (event.getId() != expected && event.getCreatedAt().isAfter(settledBefore)) {
+                break;
+            }
+            for (long id = expected; id < event.getId(); id++) {
+                skipped.add(id);
+            }
+            ready.add(event);
+            expected = event.getId() + 1;
+        }
+
+        return ready;
+    }
+
+    /**
+     * The cursor of the tenant in {@link TenantContext}.
+     */
+    public long getCursor() {
+        return cursors.computeIfAbsent(TenantContext.getTenantId(), tenantId -> {
+            Long stored = readOnlyTransactionTemplate.execute(status ->
+                    cursorRepository.findById(CURSOR_NAME).map(OutboxCursor::getLastEventId).orElse(0L));
+            return stored == null ? 0L : stored;
+        });
+    }
+
+    /**
+     * The skipped ids of the tenant in {@link TenantContext} with the time to give up on each, loaded from the
+     * outbox_gap table on first use.
+     */
+    private NavigableMap<Long, Instant> getGaps() {
+        return gapsByTenant.computeIfAbsent(TenantContext.getTenantId(), tenantId -> {
+            NavigableMap<Long, Instant> gaps = new ConcurrentSkipListMap<>();
+            List<OutboxGap> stored = readOnlyTransactionTemplate.execute(status -> gapRepository.findAll());
+            if (stored != null) {
+                stored.forEach(gap -> gaps.put(gap.getEventId(), gap.getGiveUpAt()));
+            }
+            return gaps;
+        });
+    }
+
+    public double getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+}
@@ -0,0 +1,12 @@
+package com.beerstock.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. A batch is only acknowledged (the cursor moves past it) once
+ * {@link #publish} returns, so a sink may see a batch again after a failure or restart.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,40 @@
+package com.beerstock.outbox;
+
+import com.beerstock.event.BeerChangedEvent;
+import com.beerstock.repository.BeerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Writes every {@link BeerChangedEvent} to the outbox table. The listener is synchronous, so the row is
+ * inserted in the transaction of the mutation that published the event and commits or rolls back with it.
+ * The beer row is locked before the outbox id is taken, so a concurrent mutation of the same beer takes its id
+ * only after this transaction ends and the ids of a beer's events commit in order.
+ */
+@Component
+@ConditionalOnProperty(prefix = "beerstock.outbox", name = "enabled", havingValue = "true")
+public class OutboxWriter {
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private BeerRepository beerRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) throws JsonProcessingException {
+        beerRepository.lockByTenantIdAndId(event.getTenantId(), event.getBeerId());
+        outboxEventRepository.save(OutboxEvent.builder()
+                .beerId(event.getBeerId())
+                .changeType(event.getChangeType().name())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(Instant.now())
+                .build());
+    }
+}
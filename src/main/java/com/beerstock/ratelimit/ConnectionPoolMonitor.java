@@ -0,0 +1,60 @@
+package com.beerstock.ratelimit;
+
+import com.beerstock.config.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tells whether any Hikari pool behind the application's data sources has every connection checked out or
+ * threads waiting for one. Without a JDBC data source (e.g. the logstore profile) it never reports saturation.
+ */
+public class ConnectionPoolMonitor {
+    private final ObjectProvider<DataSource> dataSources;
+
+    private volatile List<HikariDataSource> pools;
+
+    public ConnectionPoolMonitor(ObjectProvider<DataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    public boolean isSaturated() {
+        for (HikariDataSource dataSource : getPools()) {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null && (pool.getThreadsAwaitingConnection() > 0
+                    || pool.getActiveConnections() >= dataSource.getMaximumPoolSize())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private List<HikariDataSource> getPools() {
+        List<HikariDataSource> resolved = pools;
+        if (resolved == null) {
+            List<HikariDataSource> found = new ArrayList<>();
+            dataSources.orderedStream().forEach(dataSource -> collect(dataSource, found));
+            resolved = found.stream().distinct().collect(Collectors.toList());
+            pools = resolved;
+        }
+
+        return resolved;
+    }
+
+    private static void collect(DataSource dataSource, List<HikariDataSource> found) {
+        if (dataSource instanceof HikariDataSource) {
+            found.add((HikariDataSource) dataSource);
+        } else if (dataSource instanceof DelegatingDataSource) {
+            collect(((DelegatingDataSource) dataSource).getTargetDataSource(), found);
+        } else if (dataSource instanceof ReplicaRoutingDataSource) {
+            collect(((ReplicaRoutingDataSource) dataSource).getPrimary(), found);
+        }
+    }
+}
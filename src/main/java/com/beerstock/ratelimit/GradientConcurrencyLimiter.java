@@ -0,0 +1,100 @@
+package com.beerstock.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adaptive concurrency limit driven by the latency gradient: a long-term RTT average is compared with the
+ * recent RTT, and the limit shrinks while requests queue up (recent RTT above the long-term one) and grows by
+ * about {@code sqrt(limit)} while they do not. In-flight count and estimate are updated with CAS only.
+ */
+public class GradientConcurrencyLimiter {
+    private static final double SHORT_RTT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Estimate> estimate;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance) {
+        this.estimate = new AtomicReference<>(new Estimate(initialLimit, 0, 0));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+    }
+
+    /**
+     * Admits a request if fewer than {@code share} of the current limit are in flight. Lower priority callers
+     * pass a share below 1 so part of the limit stays available to the others.
+     */
+    public boolean tryAcquire(double share) {
+        int limit = Math.max(1, (int) (estimate.get().limit * share));
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+
+        while (true) {
+            Estimate current = estimate.get();
+            Estimate next = current.next(rttNanos, inFlightAtCompletion);
+            if (estimate.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) estimate.get().limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private final class Estimate {
+        private final double limit;
+        private final double shortRtt;
+        private final double longRtt;
+
+        private Estimate(double limit, double shortRtt, double longRtt) {
+            this.limit = limit;
+            this.shortRtt = shortRtt;
+            this.longRtt = longRtt;
+        }
+
+        private Estimate next(long rttNanos, int inFlightAtCompletion) {
+            double nextShortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) * SHORT_RTT_ALPHA;
+            double nextLongRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) * LONG_RTT_ALPHA;
+
+            // after a sustained latency drop, let the baseline catch up instead of staying inflated
+            if (nextLongRtt / nextShortRtt > 2) {
+                nextLongRtt *= 0.95;
+            }
+
+            // a limit nobody uses says nothing about capacity
+            if (inFlightAtCompletion < limit / 2) {
+                return new Estimate(limit, nextShortRtt, nextLongRtt);
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * nextLongRtt / nextShortRtt));
+            double target = limit * gradient + Math.sqrt(limit);
+            double nextLimit = limit * (1 - smoothing) + target * smoothing;
+
+            return new Estimate(Math.max(minLimit, Math.min(maxLimit, nextLimit)), nextShortRtt, nextLongRtt);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.beerstock.ratelimit;
+
+import com.beerstock.exception.RateLimitExceededException;
+import com.beerstock.exception.ServiceOverloadedException;
+import com.beerstock.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the API. Mutations are rate limited per tenant, client (a configured API key, or the
+ * remote address for any other request) and endpoint, and shed while the connection pool is saturated. Every request then passes the
+ * adaptive concurrency limit, where writes may only use part of the limit so reads keep getting through.
+ */
+@Component
+@ConditionalOnProperty(prefix = "beerstock.ratelimit", name = "enabled", havingValue = "true")
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final String STARTED_AT = RateLimitInterceptor.class.getName() + ".STARTED_AT";
+
+    private final RateLimitProperties properties;
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+    private final GradientConcurrencyLimiter concurrencyLimiter;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter rateLimited;
+    private final Counter concurrencyShed;
+    private final Counter poolSaturationShed;
+
+    public RateLimitInterceptor(RateLimitProperties properties,
+                                ObjectProvider<DataSource> dataSources,
+                                MeterRegistry meterRegistry) {
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+
+        this.properties = properties;
+        this.connectionPoolMonitor = new ConnectionPoolMonitor(dataSources);
+        this.concurrencyLimiter = new GradientConcurrencyLimiter(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+                concurrency.getMaxLimit(), concurrency.getSmoothing(), concurrency.getRttTolerance());
+        this.rateLimited = rejections(meterRegistry, "rate-limit");
+        this.concurrencyShed = rejections(meterRegistry, "concurrency-limit");
+        this.poolSaturationShed = rejections(meterRegistry, "pool-saturated");
+
+        Gauge.builder("beerstock.ratelimit.concurrency.limit", concurrencyLimiter, GradientConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("beerstock.ratelimit.concurrency.in.flight", concurrencyLimiter, GradientConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+        Gauge.builder("beerstock.ratelimit.buckets", buckets, Map::size)
+                .description("Token buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws RateLimitExceededException, ServiceOverloadedException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        String method = request.getMethod();
+        boolean write = !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method);
+
+        if (write) {
+            String endpoint = method + " " + pattern(request);
+            long waitNanos = bucket(clientKey(request), method, pattern(request)).tryAcquire(System.nanoTime());
+
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                rateLimited.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                throw new RateLimitExceededException(endpoint, retryAfter);
+            }
+
+            if (properties.isShedWritesWhenPoolSaturated() && connectionPoolMonitor.isSaturated()) {
+                poolSaturationShed.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(properties.getPoolSaturatedRetryAfter()));
+                throw new ServiceOverloadedException("connection pool is saturated", properties.getPoolSaturatedRetryAfter());
+            }
+        }
+
+        if (!concurrencyLimiter.tryAcquire(write ? properties.getConcurrency().getWriteShare() : 1.0)) {
+            long retryAfter = properties.getConcurrency().getRetryAfter();
+            concurrencyShed.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            throw new ServiceOverloadedException("concurrency limit of " + concurrencyLimiter.getLimit() + " reached", retryAfter);
+        }
+
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+
+        if (startedAt != null) {
+            request.removeAttribute(STARTED_AT);
+            concurrencyLimiter.release(System.nanoTime() - (Long) startedAt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.ratelimit.idle-bucket-eviction:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public GradientConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    private TokenBucket bucket(String client, String method, String pattern) {
+        return buckets.computeIfAbsent(client + " " + method + " " + pattern, key -> {
+            for (RateLimitProperties.Endpoint endpoint : properties.getEndpoints()) {
+                if (endpoint.getMethod().equalsIgnoreCase(method) && endpoint.getPattern().equals(pattern)) {
+                    return new TokenBucket(endpoint.getCapacity(), endpoint.getRefillPerSecond(), System.nanoTime());
+                }
+            }
+
+            return new TokenBucket(properties.getDefaultCapacity(), properties.getDefaultRefillPerSecond(), System.nanoTime());
+        });
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+
+        String client = apiKey != null && properties.getApiKeys().contains(apiKey) ? "key:" + apiKey : "addr:" + request.getRemoteAddr();
+
+        return TenantContext.getTenantId() + "/" + client;
+    }
+
+    private static String pattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("beerstock.ratelimit.rejected")
+                .description("Requests rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
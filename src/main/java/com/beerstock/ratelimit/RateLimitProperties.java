@@ -0,0 +1,56 @@
+package com.beerstock.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.ratelimit")
+public class RateLimitProperties {
+    private boolean enabled;
+
+    private String apiKeyHeader = "X-Api-Key";
+
+    /**
+     * Keys that get buckets of their own. Requests with any other key are limited by remote address, so a
+     * client cannot reset its limit, or grow the bucket map, by sending a fresh key each time.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    private int defaultCapacity = 50;
+
+    private double defaultRefillPerSecond = 20;
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    private long idleBucketEviction = 60000;
+
+    private boolean shedWritesWhenPoolSaturated = true;
+
+    private long poolSaturatedRetryAfter = 1;
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Endpoint {
+        private String method;
+        private String pattern;
+        private int capacity;
+        private double refillPerSecond;
+    }
+
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        private double smoothing = 0.2;
+        private double rttTolerance = 1.5;
+        private double writeShare = 0.8;
+        private long retryAfter = 1;
+    }
+}
@@ -0,0 +1,48 @@
+package com.beerstock.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single "theoretical arrival time" (the GCRA formulation): the bucket is
+ * full while that time is in the past, and each permit pushes it one refill interval further. A permit is
+ * refused when that would move it more than {@code capacity} intervals ahead of now.
+ */
+public class TokenBucket {
+    private final long refillIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and refill rate");
+        }
+
+        this.refillIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.capacityNanos = capacity * refillIntervalNanos;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until one will be available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current - nowNanos, 0) + nowNanos + refillIntervalNanos;
+            long waitNanos = next - nowNanos - capacityNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.beerstock.replenishment;
+
+import com.beerstock.repository.BeerRepository;
+import com.beerstock.tenant.TenancyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "beerstock.replenishment", name = "enabled", havingValue = "true")
+public class ReplenishmentConfig {
+
+    @Bean
+    public ReplenishmentPlanner replenishmentPlanner(BeerRepository beerRepository,
+                                                     ReplenishmentProperties properties,
+                                                     ObjectMapper objectMapper,
+                                                     MeterRegistry meterRegistry,
+                                                     TenancyProperties tenancyProperties) {
+        return new ReplenishmentPlanner(beerRepository, properties, objectMapper, meterRegistry,
+                tenancyProperties.getDatabaseTenantIds());
+    }
+}
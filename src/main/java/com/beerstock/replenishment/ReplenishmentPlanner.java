@@ -0,0 +1,306 @@
+package com.beerstock.replenishment;
+
+import com.beerstock.dto.ReplenishmentPlanDTO;
+import com.beerstock.dto.RestockLineDTO;
+import com.beerstock.dto.RestockOrderDTO;
+import com.beerstock.event.BeerChangedEvent;
+import com.beerstock.repository.BeerRepository;
+import com.beerstock.repository.BeerStockLevel;
+import com.beerstock.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a restock plan of the beers whose quantity is below {@code threshold} of their max quantity, grouped
+ * by brand as the supplier. The first run, and one every {@code full-scan-interval}, walks each database in
+ * keyset pages of {@code chunk-size} ids and fetches the beers under the threshold of each page on a bounded
+ * executor. In between, runs only re-read the beers whose {@link BeerChangedEvent} arrived since the last run.
+ * Only the beers that need restocking are kept, and each run writes the plans that changed to
+ * {@code export-directory}.
+ */
+@Slf4j
+public class ReplenishmentPlanner implements AutoCloseable {
+    private final BeerRepository beerRepository;
+    private final ReplenishmentProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<String> databaseTenantIds;
+    private final ThreadPoolExecutor executor;
+    private final Timer fullScans;
+    private final Timer incrementalRuns;
+
+    private final Map<String, Set<Long>> touchedByTenant = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, RestockLine>> linesByTenant = new ConcurrentHashMap<>();
+    private final Set<String> changedTenants = ConcurrentHashMap.newKeySet();
+
+    private volatile Instant plannedAt;
+    private long lastFullScan;
+
+    public ReplenishmentPlanner(BeerRepository beerRepository,
+                                ReplenishmentProperties properties,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                List<String> databaseTenantIds) {
+        this.beerRepository = beerRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.databaseTenantIds = databaseTenantIds;
+
+        AtomicInteger threads = new AtomicInteger();
+        int parallelism = Math.max(1, properties.getParallelism());
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "replenishment-planner-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.fullScans = Timer.builder("beerstock.replenishment.run")
+                .description("Replenishment planner runs")
+                .tag("mode", "full")
+                .register(meterRegistry);
+        this.incrementalRuns = Timer.builder("beerstock.replenishment.run")
+                .description("Replenishment planner runs")
+                .tag("mode", "incremental")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        touchedByTenant.computeIfAbsent(event.getTenantId(), key -> ConcurrentHashMap.newKeySet()).add(event.getBeerId());
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.replenishment.interval:60000}")
+    public synchronized void replan() {
+        long now = System.currentTimeMillis();
+
+        if (lastFullScan == 0 || (properties.getFullScanInterval() > 0 && now - lastFullScan >= properties.getFullScanInterval())) {
+            fullScans.record(() -> databaseTenantIds.forEach(this::scan));
+            lastFullScan = now;
+        }
+        incrementalRuns.record(this::applyTouched);
+
+        plannedAt = Instant.ofEpochMilli(now);
+        export();
+    }
+
+    public ReplenishmentPlanDTO plan(String tenantId) {
+        Map<String, List<RestockLineDTO>> linesByBrand = new TreeMap<>();
+        for (RestockLine line : linesByTenant.getOrDefault(tenantId, Collections.emptyMap()).values()) {
+            linesByBrand.computeIfAbsent(line.getBrand(), key -> new ArrayList<>()).add(line.toDTO());
+        }
+
+        List<RestockOrderDTO> orders = new ArrayList<>(linesByBrand.size());
+        linesByBrand.forEach((brand, lines) -> {
+            lines.sort(Comparator.comparing(RestockLineDTO::getBeerId));
+            orders.add(new RestockOrderDTO(brand, lines.stream().mapToLong(RestockLineDTO::getOrderQuantity).sum(), lines));
+        });
+
+        return new ReplenishmentPlanDTO(tenantId, plannedAt, properties.getThreshold(), orders);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Rebuilds the plans of every tenant stored in the database of {@code databaseTenantId}. The next page
+     * boundary is found on the calling thread with an id-only query, and the page itself is read by the executor.
+     */
+    private void scan(String databaseTenantId) {
+        List<Future<List<BeerStockLevel>>> pages = new ArrayList<>();
+        PageRequest page = PageRequest.of(0, Math.max(1, properties.getChunkSize()));
+        Long afterId = 0L;
+
+        while (true) {
+            Long from = afterId;
+            List<Long> ids = inTenant(databaseTenantId, () -> beerRepository.findIdsAfter(from, page));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            Long lastId = ids.get(ids.size() - 1);
+            pages.add(executor.submit(() -> inTenant(databaseTenantId,
+                    () -> beerRepository.findBelowThreshold(from, lastId, properties.getThreshold()))));
+            afterId = lastId;
+        }
+
+        Map<String, Map<Long, RestockLine>> scanned = new HashMap<>();
+        for (BeerStockLevel level : await(pages)) {
+            scanned.computeIfAbsent(level.getTenantId(), key -> new ConcurrentHashMap<>()).put(level.getId(), toLine(level));
+        }
+
+        for (String tenantId : linesByTenant.keySet()) {
+            if (databaseOf(tenantId).equals(databaseTenantId) && !scanned.containsKey(tenantId)) {
+                linesByTenant.remove(tenantId);
+                changedTenants.add(tenantId);
+            }
+        }
+        scanned.forEach((tenantId, lines) -> {
+            if (!lines.equals(linesByTenant.put(tenantId, lines))) {
+                changedTenants.add(tenantId);
+            }
+        });
+
+        log.debug("Scanned {} pages of beers for the replenishment plan of database {}", pages.size(), databaseTenantId);
+    }
+
+    private void applyTouched() {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+
+        for (Map.Entry<String, Set<Long>> entry : touchedByTenant.entrySet()) {
+            String tenantId = entry.getKey();
+            List<Long> ids = new ArrayList<>(entry.getValue());
+            if (ids.isEmpty()) {
+                continue;
+            }
+            ids.forEach(entry.getValue()::remove);
+
+            try {
+                List<Future<List<BeerStockLevel>>> chunks = new ArrayList<>();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<Long> chunk = new ArrayList<>(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+                    chunks.add(executor.submit(() -> inTenant(tenantId, () -> beerRepository.findStockLevels(tenantId, chunk))));
+                }
+
+                Map<Long, RestockLine> lines = linesByTenant.computeIfAbsent(tenantId, key -> new ConcurrentHashMap<>());
+                Map<Long, BeerStockLevel> levels = new HashMap<>();
+                for (BeerStockLevel level : await(chunks)) {
+                    levels.put(level.getId(), level);
+                }
+
+                for (Long id : ids) {
+                    BeerStockLevel level = levels.get(id);
+                    RestockLine line = level != null && needsRestock(level) ? toLine(level) : null;
+                    RestockLine previous = line != null ? lines.put(id, line) : lines.remove(id);
+                    if (line != null ? !line.equals(previous) : previous != null) {
+                        changedTenants.add(tenantId);
+                    }
+                }
+            } catch (RuntimeException e) {
+                entry.getValue().addAll(ids);
+                throw e;
+            }
+        }
+    }
+
+    private void export() {
+        if (properties.getExportDirectory() == null || properties.getExportDirectory().isEmpty()) {
+            changedTenants.clear();
+            return;
+        }
+
+        for (String tenantId : new ArrayList<>(changedTenants)) {
+            changedTenants.remove(tenantId);
+            try {
+                write(tenantId);
+            } catch (IOException e) {
+                changedTenants.add(tenantId);
+                log.warn("Could not export the replenishment plan of tenant {}", tenantId, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the plan next to its final name and renames it, so readers never see a half-written file.
+     */
+    private void write(String tenantId) throws IOException {
+        Path directory = Path.of(properties.getExportDirectory());
+        Path file = directory.resolve(tenantId + ".json");
+        Path partFile = directory.resolve(tenantId + ".json.part");
+
+        Files.createDirectories(directory);
+        try (OutputStream outputStream = Files.newOutputStream(partFile)) {
+            objectMapper.writeValue(outputStream, plan(tenantId));
+        }
+        Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private boolean needsRestock(BeerStockLevel level) {
+        return level.getQuantity() < level.getMaxQuantity() * properties.getThreshold();
+    }
+
+    private RestockLine toLine(BeerStockLevel level) {
+        int target = (int) Math.ceil(level.getMaxQuantity() * properties.getTargetFraction());
+
+        return new RestockLine(level.getId(), level.getName(), level.getBrand(), level.getQuantity(),
+                level.getMaxQuantity(), Math.max(0, Math.min(target, level.getMaxQuantity()) - level.getQuantity()));
+    }
+
+    private String databaseOf(String tenantId) {
+        return databaseTenantIds.contains(tenantId) ? tenantId : TenantContext.DEFAULT_TENANT;
+    }
+
+    private static <T> T inTenant(String tenantId, Supplier<T> work) {
+        TenantContext.setTenantId(tenantId);
+        try {
+            return work.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private static <T> List<T> await(List<Future<List<T>>> futures) {
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<List<T>> future : futures) {
+                results.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while planning replenishment", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Could not read the catalog for replenishment", e.getCause());
+        }
+
+        return results;
+    }
+
+    @Value
+    static class RestockLine {
+        Long beerId;
+        String name;
+        String brand;
+        int quantity;
+        int maxQuantity;
+        int orderQuantity;
+
+        RestockLineDTO toDTO() {
+            return new RestockLineDTO(beerId, name, quantity, maxQuantity, orderQuantity);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.beerstock.replenishment;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.replenishment")
+public class ReplenishmentProperties {
+    private boolean enabled;
+
+    private long interval = 60000;
+
+    private long fullScanInterval = 86400000;
+
+    /**
+     * A beer needs restocking while its quantity is below this fraction of its max quantity.
+     */
+    private double threshold = 0.25;
+
+    /**
+     * Restock orders bring a beer up to this fraction of its max quantity.
+     */
+    private double targetFraction = 1.0;
+
+    private int chunkSize = 500;
+
+    private int parallelism = 4;
+
+    private String exportDirectory = "./data/replenishment";
+}
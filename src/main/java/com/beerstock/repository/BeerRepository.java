@@ -1,10 +1,75 @@
 package com.beerstock.repository;
 
 import com.beerstock.entity.Beer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BeerRepository extends JpaRepository<Beer, Long> {
-    Optional<Beer> findByName(String name);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface BeerRepository extends JpaRepository<Beer, Long>, BeerStore {
+    @Override
+    Optional<Beer> findByTenantIdAndId(String tenantId, Long id);
+
+    @Override
+    Optional<Beer> findByTenantIdAndName(String tenantId, String name);
+
+    @Override
+    List<Beer> findAllByTenantId(String tenantId);
+
+    /**
+     * Locks the row of the beer until the transaction ends, flushing pending changes of the beer first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Beer b where b.tenantId = :tenantId and b.id = :id")
+    Optional<Beer> lockByTenantIdAndId(@Param("tenantId") String tenantId, @Param("id") Long id);
+
+    @Query("select b.quantity from Beer b where b.tenantId = :tenantId and b.id = :id")
+    @Override
+    Optional<Integer> findQuantityByTenantIdAndId(@Param("tenantId") String tenantId, @Param("id") Long id);
+
+    @Modifying
+    @Query("update Beer b set b.quantity = b.quantity + :delta where b.tenantId = :tenantId and b.id = :id"
+            + " and b.quantity + :delta >= 0"
+            + " and (:delta <= 0 or (b.quantity + :delta <= b.maxQuantity and b.quantity + :delta <= :ceiling))")
+    @Override
+    int addQuantity(@Param("tenantId") String tenantId, @Param("id") Long id, @Param("delta") int delta, @Param("ceiling") int ceiling);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Override
+    Stream<Beer> streamAllByOrderByIdAsc();
+
+    @Query("select b.type as type, sum(b.quantity) as quantity from Beer b where b.tenantId = :tenantId group by b.type")
+    List<BeerTypeStock> sumQuantityByType(@Param("tenantId") String tenantId);
+
+    @Query("select b.brand as brand, sum(b.quantity) as quantity, sum(b.maxQuantity) as maxQuantity from Beer b where b.tenantId = :tenantId group by b.brand")
+    List<BrandStock> sumQuantityByBrand(@Param("tenantId") String tenantId);
+
+    @Query("select b from Beer b where b.tenantId = :tenantId"
+            + " order by (case when b.maxQuantity = 0 then 0.0 else b.quantity * 1.0 / b.maxQuantity end) desc, b.id asc")
+    List<Beer> findNearestMax(@Param("tenantId") String tenantId, Pageable pageable);
+
+    @Query("select b.id from Beer b where b.id > :afterId order by b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select b.id as id, b.tenantId as tenantId, b.name as name, b.brand as brand, b.quantity as quantity,"
+            + " b.maxQuantity as maxQuantity from Beer b"
+            + " where b.id > :afterId and b.id <= :lastId and b.quantity < b.maxQuantity * :threshold")
+    List<BeerStockLevel> findBelowThreshold(@Param("afterId") Long afterId, @Param("lastId") Long lastId,
+                                            @Param("threshold") double threshold);
+
+    @Query("select b.id as id, b.tenantId as tenantId, b.name as name, b.brand as brand, b.quantity as quantity,"
+            + " b.maxQuantity as maxQuantity from Beer b where b.tenantId = :tenantId and b.id in :ids")
+    List<BeerStockLevel> findStockLevels(@Param("tenantId") String tenantId, @Param("ids") Collection<Long> ids);
 }
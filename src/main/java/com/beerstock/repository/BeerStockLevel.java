@@ -0,0 +1,15 @@
+package com.beerstock.repository;
+
+public interface BeerStockLevel {
+    Long getId();
+
+    String getTenantId();
+
+    String getName();
+
+    String getBrand();
+
+    Integer getQuantity();
+
+    Integer getMaxQuantity();
+}
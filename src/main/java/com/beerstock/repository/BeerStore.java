@@ -0,0 +1,35 @@
+package com.beerstock.repository;
+
+import com.beerstock.entity.Beer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The storage operations the services need. Implemented by the JPA {@link BeerRepository} and, under the
+ * {@code logstore} profile, by the embedded append-only log store. Lookups are scoped to a tenant; only the
+ * full scan used to build the in-memory indexes crosses tenants.
+ */
+public interface BeerStore {
+    Optional<Beer> findByTenantIdAndId(String tenantId, Long id);
+
+    Optional<Beer> findByTenantIdAndName(String tenantId, String name);
+
+    Optional<Integer> findQuantityByTenantIdAndId(String tenantId, Long id);
+
+    List<Beer> findAllByTenantId(String tenantId);
+
+    <S extends Beer> S save(S beer);
+
+    void deleteById(Long id);
+
+    /**
+     * Adds {@code delta} to the stock of the beer, unless the result would fall below 0 or, for an increment,
+     * above {@code maxQuantity} or {@code ceiling}; a beer already above them can still be decremented. Returns
+     * the number of beers changed: 0 when the beer does not exist in the tenant or a bound is violated.
+     */
+    int addQuantity(String tenantId, Long id, int delta, int ceiling);
+
+    Stream<Beer> streamAllByOrderByIdAsc();
+}
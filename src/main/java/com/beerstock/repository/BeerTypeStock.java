@@ -0,0 +1,9 @@
+package com.beerstock.repository;
+
+import com.beerstock.enums.BeerType;
+
+public interface BeerTypeStock {
+    BeerType getType();
+
+    Long getQuantity();
+}
@@ -0,0 +1,9 @@
+package com.beerstock.repository;
+
+public interface BrandStock {
+    String getBrand();
+
+    Long getQuantity();
+
+    Long getMaxQuantity();
+}
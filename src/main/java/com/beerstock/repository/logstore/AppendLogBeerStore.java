@@ -0,0 +1,506 @@
+package com.beerstock.repository.logstore;
+
+import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.repository.BeerStore;
+import com.beerstock.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded storage backend for edge deployments: a memory-mapped, append-only log of beer records with
+ * in-memory hash indexes on id and on tenant and name, and the sorted ids of each tenant.
+ *
+ * <p>Record layout: {@code int payloadLength, int crc32(payload), payload}. The payload is
+ * {@code byte op, long id} followed, for puts, by {@code int quantity, int maxQuantity, byte type,
+ * short nameLength, name, short brandLength, brand, short tenantLength, tenant}. Records written before
+ * tenancy end after the brand and belong to the default tenant. The length is written last, and on startup the log is
+ * replayed until the first record whose length or checksum does not hold, which drops a torn tail.
+ * Superseded records are reclaimed by compaction into a new file that atomically replaces the old one. When the
+ * highest id issued belongs to a deleted beer, compaction ends the new file with a delete record of that id, so
+ * the id is not issued again after a restart.
+ * Like the unique key on tenant and name of the JPA schema, a save that would give a tenant two beers with the
+ * same name fails with a {@link DataIntegrityViolationException}.
+ */
+@Slf4j
+@Repository
+@Profile("logstore")
+public class AppendLogBeerStore implements BeerStore, AutoCloseable {
+    static final String LOG_FILE = "beers.log";
+    private static final String COMPACTION_FILE = LOG_FILE + ".compact";
+    private static final int HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final BeerType[] TYPES = BeerType.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> offsetById = new HashMap<>();
+    private final Map<String, Long> idByTenantAndName = new HashMap<>();
+    private final Map<String, NavigableSet<Long>> idsByTenant = new HashMap<>();
+    private final AppendLogProperties properties;
+    private final Path logFile;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long liveBytes;
+    private long nextId = 1;
+
+    public AppendLogBeerStore(AppendLogProperties properties) throws IOException {
+        this.properties = properties;
+        Path directory = Path.of(properties.getDirectory());
+        this.logFile = directory.resolve(LOG_FILE);
+
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(COMPACTION_FILE));
+        openAndRecover();
+    }
+
+    @Override
+    public Optional<Beer> findByTenantIdAndId(String tenantId, Long id) {
+        lock.readLock().lock();
+        try {
+            Integer offset = offsetById.get(id);
+            if (offset == null) {
+                return Optional.empty();
+            }
+
+            return Optional.of(decode(offset)).filter(beer -> beer.getTenantId().equals(tenantId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Beer> findByTenantIdAndName(String tenantId, String name) {
+        lock.readLock().lock();
+        try {
+            Long id = idByTenantAndName.get(nameKey(tenantId, name));
+            return id == null ? Optional.empty() : Optional.of(decode(offsetById.get(id)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Integer> findQuantityByTenantIdAndId(String tenantId, Long id) {
+        return findByTenantIdAndId(tenantId, id).map(Beer::getQuantity);
+    }
+
+    @Override
+    public List<Beer> findAllByTenantId(String tenantId) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Long> ids = idsByTenant.getOrDefault(tenantId, Collections.emptyNavigableSet());
+
+            List<Beer> beers = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                beers.add(decode(offsetById.get(id)));
+            }
+
+            return beers;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Beer> streamAllByOrderByIdAsc() {
+        return findAll().stream();
+    }
+
+    private List<Beer> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(offsetById.keySet());
+            ids.sort(null);
+
+            List<Beer> beers = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                beers.add(decode(offsetById.get(id)));
+            }
+
+            return beers;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public <S extends Beer> S save(S beer) {
+        lock.writeLock().lock();
+        try {
+            Long existingId = idByTenantAndName.get(nameKey(tenantOf(beer), beer.getName()));
+            if (existingId != null && !existingId.equals(beer.getId())) {
+                throw new DataIntegrityViolationException(String.format("Beer %s of tenant %s is already stored with id %s",
+                        beer.getName(), tenantOf(beer), existingId));
+            }
+            if (beer.getId() == null) {
+                beer.setId(nextId);
+            }
+            if (beer.getTenantId() == null) {
+                beer.setTenantId(TenantContext.DEFAULT_TENANT);
+            }
+
+            index(append(encodePut(beer)));
+            return beer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (!offsetById.containsKey(id)) {
+                throw new EmptyResultDataAccessException(String.format("No %s entity with id %s exists!", Beer.class, id), 1);
+            }
+
+            index(append(encodeDelete(id)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int addQuantity(String tenantId, Long id, int delta, int ceiling) {
+        lock.writeLock().lock();
+        try {
+            Integer offset = offsetById.get(id);
+            if (offset == null) {
+                return 0;
+            }
+
+            Beer beer = decode(offset);
+            int quantity = beer.getQuantity() + delta;
+            if (!beer.getTenantId().equals(tenantId) || quantity < 0
+                    || (delta > 0 && (quantity > beer.getMaxQuantity() || quantity > ceiling))) {
+                return 0;
+            }
+
+            beer.setQuantity(quantity);
+            index(append(encodePut(beer)));
+            return 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int count() {
+        lock.readLock().lock();
+        try {
+            return offsetById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.logstore.flush-interval:1000}")
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            buffer.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.logstore.compaction-interval:60000}")
+    public void compactIfNeeded() throws IOException {
+        lock.readLock().lock();
+        boolean needed;
+        try {
+            needed = writePosition >= properties.getCompactionMinSize()
+                    && 1.0 - (double) liveBytes / writePosition >= properties.getCompactionGarbageRatio();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (needed) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live records into a new log, then swaps it in with an atomic rename. A crash before the
+     * rename leaves the old log untouched; the leftover compaction file is deleted on the next start. The old
+     * log stays open until the rename succeeded, so a failed rename leaves the store working on it.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            long before = writePosition;
+            Path compactionFile = logFile.resolveSibling(COMPACTION_FILE);
+
+            try (FileChannel target = FileChannel.open(compactionFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                List<Long> ids = new ArrayList<>(offsetById.keySet());
+                ids.sort(null);
+
+                for (Long id : ids) {
+                    int offset = offsetById.get(id);
+                    ByteBuffer record = buffer.duplicate();
+                    record.position(offset).limit(offset + HEADER_SIZE + buffer.getInt(offset));
+                    while (record.hasRemaining()) {
+                        target.write(record);
+                    }
+                }
+
+                long highestId = nextId - 1;
+                if (highestId > 0 && (ids.isEmpty() || ids.get(ids.size() - 1) < highestId)) {
+                    ByteBuffer highWaterMark = record(encodeDelete(highestId));
+                    while (highWaterMark.hasRemaining()) {
+                        target.write(highWaterMark);
+                    }
+                }
+                target.force(true);
+            }
+
+            buffer.force();
+            try {
+                Files.move(compactionFile, logFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(compactionFile);
+                throw e;
+            }
+            channel.close();
+            openAndRecover();
+
+            log.info("Compacted {} from {} to {} bytes", logFile, before, writePosition);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void openAndRecover() throws IOException {
+        offsetById.clear();
+        idByTenantAndName.clear();
+        idsByTenant.clear();
+        liveBytes = 0;
+
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), properties.getInitialSize()));
+
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_SIZE) {
+                break;
+            }
+            if (buffer.getInt(position + 4) != checksum(position + HEADER_SIZE, length)) {
+                log.warn("Discarding torn record at offset {} of {}", position, logFile);
+                break;
+            }
+
+            index(position);
+            position += HEADER_SIZE + length;
+        }
+
+        writePosition = position;
+        if (position + 4 <= buffer.capacity() && buffer.getInt(position) != 0) {
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+    }
+
+    private int append(byte[] payload) {
+        int offset = writePosition;
+        ensureCapacity((long) offset + HEADER_SIZE + payload.length);
+
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + HEADER_SIZE);
+        record.put(payload);
+        buffer.putInt(offset + 4, checksum(offset + HEADER_SIZE, payload.length));
+        buffer.putInt(offset, payload.length);
+        writePosition = offset + HEADER_SIZE + payload.length;
+
+        if (properties.isSyncWrites()) {
+            buffer.force();
+        }
+
+        return offset;
+    }
+
+    private void index(int offset) {
+        int length = buffer.getInt(offset);
+        byte op = buffer.get(offset + HEADER_SIZE);
+        long id = buffer.getLong(offset + HEADER_SIZE + 1);
+
+        nextId = Math.max(nextId, id + 1);
+
+        Integer previous = offsetById.remove(id);
+        if (previous != null) {
+            liveBytes -= HEADER_SIZE + buffer.getInt(previous);
+            Beer replaced = decode(previous);
+            idByTenantAndName.remove(nameKey(replaced), id);
+
+            NavigableSet<Long> tenantIds = idsByTenant.get(replaced.getTenantId());
+            tenantIds.remove(id);
+            if (tenantIds.isEmpty()) {
+                idsByTenant.remove(replaced.getTenantId());
+            }
+        }
+
+        if (op == PUT) {
+            Beer stored = decode(offset);
+            offsetById.put(id, offset);
+            idByTenantAndName.put(nameKey(stored), id);
+            idsByTenant.computeIfAbsent(stored.getTenantId(), tenantId -> new TreeSet<>()).add(id);
+            liveBytes += HEADER_SIZE + length;
+        }
+    }
+
+    private static ByteBuffer record(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+    }
+
+    private static byte[] encodeDelete(long id) {
+        return ByteBuffer.allocate(9).put(DELETE).putLong(id).array();
+    }
+
+    private byte[] encodePut(Beer beer) {
+        byte[] name = beer.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] brand = beer.getBrand().getBytes(StandardCharsets.UTF_8);
+        byte[] tenant = tenantOf(beer).getBytes(StandardCharsets.UTF_8);
+
+        return ByteBuffer.allocate(1 + 8 + 4 + 4 + 1 + 2 + name.length + 2 + brand.length + 2 + tenant.length)
+                .put(PUT)
+                .putLong(beer.getId())
+                .putInt(beer.getQuantity())
+                .putInt(beer.getMaxQuantity())
+                .put((byte) beer.getType().ordinal())
+                .putShort((short) name.length)
+                .put(name)
+                .putShort((short) brand.length)
+                .put(brand)
+                .putShort((short) tenant.length)
+                .put(tenant)
+                .array();
+    }
+
+    private Beer decode(int offset) {
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + HEADER_SIZE + 1).limit(offset + HEADER_SIZE + buffer.getInt(offset));
+
+        long id = record.getLong();
+        int quantity = record.getInt();
+        int maxQuantity = record.getInt();
+        BeerType type = TYPES[record.get()];
+        byte[] name = new byte[record.getShort()];
+        record.get(name);
+        byte[] brand = new byte[record.getShort()];
+        record.get(brand);
+        String tenantId = TenantContext.DEFAULT_TENANT;
+        if (record.hasRemaining()) {
+            byte[] tenant = new byte[record.getShort()];
+            record.get(tenant);
+            tenantId = new String(tenant, StandardCharsets.UTF_8);
+        }
+
+        return Beer.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .name(new String(name, StandardCharsets.UTF_8))
+                .brand(new String(brand, StandardCharsets.UTF_8))
+                .maxQuantity(maxQuantity)
+                .quantity(quantity)
+                .type(type)
+                .build();
+    }
+
+    private static String tenantOf(Beer beer) {
+        return beer.getTenantId() != null ? beer.getTenantId() : TenantContext.DEFAULT_TENANT;
+    }
+
+    private static String nameKey(Beer beer) {
+        return nameKey(beer.getTenantId(), beer.getName());
+    }
+
+    private static String nameKey(String tenantId, String name) {
+        return tenantId + '\0' + name;
+    }
+
+    private int checksum(int from, int length) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(from).limit(from + length);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Beer log " + logFile + " is full, compact it or move to the JPA backend");
+        }
+
+        long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+        try {
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
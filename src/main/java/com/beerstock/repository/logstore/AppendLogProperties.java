@@ -0,0 +1,22 @@
+package com.beerstock.repository.logstore;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.logstore")
+public class AppendLogProperties {
+    private String directory = "./data/logstore";
+
+    private int initialSize = 16 * 1024 * 1024;
+
+    private boolean syncWrites;
+
+    private long flushInterval = 1000;
+
+    private long compactionInterval = 60000;
+
+    private double compactionGarbageRatio = 0.5;
+
+    private int compactionMinSize = 1024 * 1024;
+}
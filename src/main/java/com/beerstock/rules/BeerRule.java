@@ -0,0 +1,35 @@
+package com.beerstock.rules;
+
+import lombok.Value;
+
+/**
+ * The limits that apply to one type and brand, after merging every matching definition. A null limit is not
+ * enforced.
+ */
+@Value
+public class BeerRule {
+    public static final BeerRule NONE = new BeerRule(null, null, null, null, null);
+
+    Integer maxQuantity;
+    Integer maxIncrement;
+    Integer maxDecrement;
+    Integer incrementMultiple;
+    Integer decrementMultiple;
+
+    /**
+     * This rule with the limits it leaves unset taken from {@code fallback}.
+     */
+    BeerRule orElse(BeerRule fallback) {
+        return new BeerRule(
+                maxQuantity != null ? maxQuantity : fallback.maxQuantity,
+                maxIncrement != null ? maxIncrement : fallback.maxIncrement,
+                maxDecrement != null ? maxDecrement : fallback.maxDecrement,
+                incrementMultiple != null ? incrementMultiple : fallback.incrementMultiple,
+                decrementMultiple != null ? decrementMultiple : fallback.decrementMultiple);
+    }
+
+    static BeerRule of(BeerRuleProperties.Definition definition) {
+        return new BeerRule(definition.getMaxQuantity(), definition.getMaxIncrement(), definition.getMaxDecrement(),
+                definition.getIncrementMultiple(), definition.getDecrementMultiple());
+    }
+}
@@ -0,0 +1,136 @@
+package com.beerstock.rules;
+
+import com.beerstock.entity.Beer;
+import com.beerstock.exception.BeerRuleViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stock rules by {@code BeerType} and brand, checked on every increment and decrement. The definitions are
+ * compiled into an immutable {@link BeerRuleTable} that is swapped atomically when they change, so a check is
+ * a lock-free table lookup and a few integer comparisons. Definitions come from {@code beerstock.rules} or,
+ * when {@code beerstock.rules.file} is set, from that file, which is reloaded when it is modified; a file that
+ * does not parse leaves the current rules in place until it is modified again.
+ *
+ * <p>The rules add to the checks of {@link Beer#getMaxQuantity()} and the {@code @Max} bounds of the request
+ * bodies, which stay as the upper limits for every type.
+ */
+@Slf4j
+@Component
+public class BeerRuleEngine {
+    private static final String DEFINITIONS = "beerstock.rules.definitions";
+    private static final long MISSING = -1;
+
+    private final BeerRuleProperties properties;
+    private final AtomicReference<BeerRuleTable> table;
+
+    private long fileLastModified;
+
+    public BeerRuleEngine(BeerRuleProperties properties) {
+        this.properties = properties;
+        this.table = new AtomicReference<>(BeerRuleTable.compile(properties.getDefinitions()));
+        reloadIfModified();
+    }
+
+    public void checkIncrement(Beer beer, int quantityToIncrement) throws BeerRuleViolationException {
+        BeerRule rule = table.get().ruleFor(beer.getType(), beer.getBrand());
+
+        if (rule.getMaxIncrement() != null && quantityToIncrement > rule.getMaxIncrement()) {
+            throw new BeerRuleViolationException(beer.getId(), "at most " + rule.getMaxIncrement() + " can be added at once");
+        }
+        if (rule.getIncrementMultiple() != null && quantityToIncrement % rule.getIncrementMultiple() != 0) {
+            throw new BeerRuleViolationException(beer.getId(), "increments must be multiples of " + rule.getIncrementMultiple());
+        }
+        if (rule.getMaxQuantity() != null && beer.getQuantity() + quantityToIncrement > rule.getMaxQuantity()) {
+            throw new BeerRuleViolationException(beer.getId(), "stock cannot exceed " + rule.getMaxQuantity());
+        }
+    }
+
+    public void checkDecrement(Beer beer, int quantityToDecrement) throws BeerRuleViolationException {
+        BeerRule rule = table.get().ruleFor(beer.getType(), beer.getBrand());
+
+        if (rule.getMaxDecrement() != null && quantityToDecrement > rule.getMaxDecrement()) {
+            throw new BeerRuleViolationException(beer.getId(), "at most " + rule.getMaxDecrement() + " can be removed at once");
+        }
+        if (rule.getDecrementMultiple() != null && quantityToDecrement % rule.getDecrementMultiple() != 0) {
+            throw new BeerRuleViolationException(beer.getId(), "decrements must be multiples of " + rule.getDecrementMultiple());
+        }
+    }
+
+    /**
+     * The most stock the beer may hold: its own max quantity, lowered by the rule's when there is one.
+     * Conditional updates take it as their upper bound, so concurrent increments cannot pass the rule either.
+     */
+    public int maxQuantityFor(Beer beer) {
+        Integer ruleMaxQuantity = table.get().ruleFor(beer.getType(), beer.getBrand()).getMaxQuantity();
+
+        return ruleMaxQuantity == null ? beer.getMaxQuantity() : Math.min(ruleMaxQuantity, beer.getMaxQuantity());
+    }
+
+    /**
+     * Whether any rule is defined. Callers that would have to load a beer only to check it can skip the load
+     * when there is none.
+     */
+    public boolean hasRules() {
+        return !table.get().isEmpty();
+    }
+
+    /**
+     * Compiles the definitions and swaps them in. Checks already running finish against the previous table.
+     */
+    public void load(List<BeerRuleProperties.Definition> definitions) {
+        table.set(BeerRuleTable.compile(definitions));
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.rules.reload-interval:10000}")
+    public synchronized void reloadIfModified() {
+        if (properties.getFile() == null || properties.getFile().isEmpty()) {
+            return;
+        }
+
+        Path file = Path.of(properties.getFile());
+        if (!Files.exists(file)) {
+            if (fileLastModified != MISSING) {
+                log.warn("Beer rules file {} does not exist, keeping the current rules", file);
+                fileLastModified = MISSING;
+            }
+            return;
+        }
+
+        try {
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            if (lastModified == fileLastModified) {
+                return;
+            }
+            fileLastModified = lastModified;
+
+            List<BeerRuleProperties.Definition> definitions = read(file);
+            load(definitions);
+            log.info("Loaded {} beer rules from {}", definitions.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load beer rules from {}, keeping the current ones", file, e);
+        }
+    }
+
+    private static List<BeerRuleProperties.Definition> read(Path file) throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader().load(file.toString(), new FileSystemResource(file));
+
+        return new Binder(ConfigurationPropertySources.from(sources))
+                .bind(DEFINITIONS, Bindable.listOf(BeerRuleProperties.Definition.class))
+                .orElse(Collections.emptyList());
+    }
+}
@@ -0,0 +1,49 @@
+package com.beerstock.rules;
+
+import com.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.rules")
+public class BeerRuleProperties {
+    /**
+     * Optional YAML file with a {@code beerstock.rules.definitions} list that replaces the one below. It is
+     * re-read whenever its modification time changes.
+     */
+    private String file;
+
+    private long reloadInterval = 10000;
+
+    private List<Definition> definitions = new ArrayList<>();
+
+    /**
+     * A rule for a {@link BeerType}, a brand or both; a missing type or brand matches any. Unset limits fall
+     * back to the next less specific rule: type and brand, then type, then brand, then the rule without either.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Definition {
+        private BeerType type;
+
+        private String brand;
+
+        private Integer maxQuantity;
+
+        private Integer maxIncrement;
+
+        private Integer maxDecrement;
+
+        private Integer incrementMultiple;
+
+        private Integer decrementMultiple;
+    }
+}
@@ -0,0 +1,115 @@
+package com.beerstock.rules;
+
+import com.beerstock.enums.BeerType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable dispatch table from type and brand to the merged {@link BeerRule}. Every combination named by a
+ * definition is resolved when the table is compiled, so a lookup is one enum map and one hash map access.
+ */
+final class BeerRuleTable {
+    private final Map<BeerType, TypeRules> rulesByType;
+    private final int definitionCount;
+
+    private BeerRuleTable(Map<BeerType, TypeRules> rulesByType, int definitionCount) {
+        this.rulesByType = rulesByType;
+        this.definitionCount = definitionCount;
+    }
+
+    BeerRule ruleFor(BeerType type, String brand) {
+        TypeRules rules = rulesByType.get(type);
+
+        return brand == null ? rules.typeRule : rules.rulesByBrand.getOrDefault(brand, rules.typeRule);
+    }
+
+    boolean isEmpty() {
+        return definitionCount == 0;
+    }
+
+    int getDefinitionCount() {
+        return definitionCount;
+    }
+
+    static BeerRuleTable compile(List<BeerRuleProperties.Definition> definitions) {
+        BeerRule anyRule = BeerRule.NONE;
+        Map<String, BeerRule> brandRules = new HashMap<>();
+        Map<BeerType, BeerRule> typeRules = new EnumMap<>(BeerType.class);
+        Map<BeerType, Map<String, BeerRule>> typeBrandRules = new EnumMap<>(BeerType.class);
+
+        for (BeerRuleProperties.Definition definition : definitions) {
+            validate(definition);
+            BeerRule rule = BeerRule.of(definition);
+            if (definition.getType() == null && definition.getBrand() == null) {
+                anyRule = rule.orElse(anyRule);
+            } else if (definition.getType() == null) {
+                brandRules.merge(definition.getBrand(), rule, BeerRuleTable::later);
+            } else if (definition.getBrand() == null) {
+                typeRules.merge(definition.getType(), rule, BeerRuleTable::later);
+            } else {
+                typeBrandRules.computeIfAbsent(definition.getType(), type -> new HashMap<>())
+                        .merge(definition.getBrand(), rule, BeerRuleTable::later);
+            }
+        }
+
+        Map<BeerType, TypeRules> rulesByType = new EnumMap<>(BeerType.class);
+        for (BeerType type : BeerType.values()) {
+            BeerRule typeRule = typeRules.getOrDefault(type, BeerRule.NONE).orElse(anyRule);
+            Map<String, BeerRule> ownBrandRules = typeBrandRules.getOrDefault(type, Collections.emptyMap());
+
+            Set<String> brands = new HashSet<>(brandRules.keySet());
+            brands.addAll(ownBrandRules.keySet());
+
+            Map<String, BeerRule> rulesByBrand = new HashMap<>();
+            for (String brand : brands) {
+                rulesByBrand.put(brand, ownBrandRules.getOrDefault(brand, BeerRule.NONE)
+                        .orElse(typeRules.getOrDefault(type, BeerRule.NONE))
+                        .orElse(brandRules.getOrDefault(brand, BeerRule.NONE))
+                        .orElse(anyRule));
+            }
+
+            rulesByType.put(type, new TypeRules(typeRule, Map.copyOf(rulesByBrand)));
+        }
+
+        return new BeerRuleTable(Collections.unmodifiableMap(rulesByType), definitions.size());
+    }
+
+    /**
+     * Rejects limits that are zero or negative: a zero multiple would fail every check with a division by zero.
+     * A reload that fails here keeps the current table, like one that does not parse.
+     */
+    private static void validate(BeerRuleProperties.Definition definition) {
+        requirePositive(definition, "max-quantity", definition.getMaxQuantity());
+        requirePositive(definition, "max-increment", definition.getMaxIncrement());
+        requirePositive(definition, "max-decrement", definition.getMaxDecrement());
+        requirePositive(definition, "increment-multiple", definition.getIncrementMultiple());
+        requirePositive(definition, "decrement-multiple", definition.getDecrementMultiple());
+    }
+
+    private static void requirePositive(BeerRuleProperties.Definition definition, String limit, Integer value) {
+        if (value != null && value <= 0) {
+            throw new IllegalArgumentException("Beer rule for type " + definition.getType() + " and brand "
+                    + definition.getBrand() + " has a non-positive " + limit + ": " + value);
+        }
+    }
+
+    private static BeerRule later(BeerRule earlier, BeerRule later) {
+        return later.orElse(earlier);
+    }
+
+    private static class TypeRules {
+        private final BeerRule typeRule;
+        private final Map<String, BeerRule> rulesByBrand;
+
+        TypeRules(BeerRule typeRule, Map<String, BeerRule> rulesByBrand) {
+            this.typeRule = typeRule;
+            this.rulesByBrand = rulesByBrand;
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.beerstock.search;
+
+import com.beerstock.dto.BeerSuggestionDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory suggestion index over beer names and brands.
+ *
+ * <p>Every beer gets an int slot. Trigram postings give typo tolerant candidates ranked by Dice similarity,
+ * a sorted token dictionary gives prefix matches, and a bounded edit distance on the best candidates rescues
+ * misspellings that share few trigrams with the query.
+ */
+public class BeerSearchIndex {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int TYPO_CANDIDATES_PER_RESULT = 16;
+    private static final int MAX_PREFIX_TOKENS = 256;
+    private static final int MAX_CANDIDATE_SLOTS = 4096;
+    private static final int MAX_POSTING_ENTRIES = 16 * MAX_CANDIDATE_SLOTS;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final TreeMap<String, IntList> tokens = new TreeMap<>();
+    private final IntList freeSlots = new IntList();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] brands = new String[1024];
+    private String[] normalizedNames = new String[1024];
+    private String[] normalizedBrands = new String[1024];
+    private int[] trigramCounts = new int[1024];
+    private int slotCount;
+
+    public void upsert(Long id, String name, String brand) {
+        String normalizedName = normalize(name);
+        String normalizedBrand = normalize(brand);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotById.get(id);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unindex(slot);
+            } else {
+                slot = freeSlots.isEmpty() ? nextSlot() : popFreeSlot();
+                slotById.put(id, slot);
+            }
+
+            ids[slot] = id;
+            names[slot] = name;
+            brands[slot] = brand;
+            normalizedNames[slot] = normalizedName;
+            normalizedBrands[slot] = normalizedBrand;
+            index(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                unindex(slot);
+                names[slot] = null;
+                brands[slot] = null;
+                normalizedNames[slot] = null;
+                normalizedBrands[slot] = null;
+                freeSlots.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Slots allocated so far, free ones included.
+     */
+    int slotCount() {
+        lock.readLock().lock();
+        try {
+            return slotCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores at most {@code MAX_CANDIDATE_SLOTS} prefix matches and as many trigram matches, keeping the best
+     * of them in bounded heaps, so the work per query does not grow with the number of matching beers.
+     */
+    public List<BeerSuggestionDTO> suggest(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        Scratch candidates = scratch.get();
+        try {
+            candidates.ensureCapacity(ids.length);
+
+            collectPrefixMatches(normalizedQuery, candidates);
+            TopSlots similar = collectTrigramMatches(normalizedQuery, limit * TYPO_CANDIDATES_PER_RESULT, candidates);
+            rescueTypos(normalizedQuery, similar, candidates);
+
+            TopSlots best = new TopSlots(limit, names);
+            for (int i = 0; i < candidates.touched.size(); i++) {
+                int slot = candidates.touched.get(i);
+                if (candidates.scores[slot] > 0) {
+                    best.offer(slot, candidates.scores[slot]);
+                }
+            }
+            best.sort();
+
+            List<BeerSuggestionDTO> suggestions = new ArrayList<>(best.size());
+            for (int i = 0; i < best.size(); i++) {
+                int slot = best.slot(i);
+                suggestions.add(new BeerSuggestionDTO(ids[slot], names[slot], brands[slot], best.score(i)));
+            }
+
+            return suggestions;
+        } finally {
+            candidates.clear();
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the beers with a token starting with the most selective query token that also contain the other
+     * query tokens: those whose name starts with the whole query rank above the rest.
+     */
+    private void collectPrefixMatches(String query, Scratch candidates) {
+        String[] queryTokens = query.split(" ");
+        NavigableMap<String, IntList> matches = null;
+        int fewestSlots = Integer.MAX_VALUE;
+        for (String token : queryTokens) {
+            NavigableMap<String, IntList> tokenMatches = tokens.subMap(token, true, token + Character.MAX_VALUE, false);
+            int slots = countSlots(tokenMatches, fewestSlots);
+            if (slots < fewestSlots) {
+                matches = tokenMatches;
+                fewestSlots = slots;
+            }
+        }
+
+        int visitedTokens = 0;
+        int visitedSlots = 0;
+        for (IntList slots : matches.values()) {
+            if (visitedTokens++ == MAX_PREFIX_TOKENS) {
+                break;
+            }
+
+            for (int i = 0; i < slots.size(); i++) {
+                if (visitedSlots++ == MAX_CANDIDATE_SLOTS) {
+                    return;
+                }
+
+                int slot = slots.get(i);
+                if (normalizedNames[slot].startsWith(query)) {
+                    candidates.score(slot, 2.0);
+                } else if (queryTokens.length == 1 || containsAll(slot, queryTokens)) {
+                    candidates.score(slot, 1.5);
+                }
+            }
+        }
+    }
+
+    private boolean containsAll(int slot, String[] queryTokens) {
+        for (String token : queryTokens) {
+            if (!normalizedNames[slot].contains(token) && !normalizedBrands[slot].contains(token)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int countSlots(NavigableMap<String, IntList> matches, int atMost) {
+        int count = 0;
+        int visited = 0;
+        for (IntList slots : matches.values()) {
+            if (visited++ == MAX_PREFIX_TOKENS || count >= atMost) {
+                break;
+            }
+            count += slots.size();
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the query trigrams shared with each beer, rarest trigrams first. Once {@code MAX_CANDIDATE_SLOTS}
+     * beers were touched the remaining trigrams only add to their counts, and trigrams whose postings would take
+     * the scan past {@code MAX_POSTING_ENTRIES} are skipped: they are the most common ones and say the least
+     * about which beer is meant.
+     */
+    private TopSlots collectTrigramMatches(String query, int maxSimilar, Scratch candidates) {
+        Set<Long> queryTrigrams = trigrams(query, new HashSet<>());
+        List<IntList> queryPostings = new ArrayList<>(queryTrigrams.size());
+        for (Long trigram : queryTrigrams) {
+            IntList slots = postings.get(trigram);
+            if (slots != null) {
+                queryPostings.add(slots);
+            }
+        }
+        queryPostings.sort(Comparator.comparingInt(IntList::size));
+
+        IntList counted = new IntList();
+        int[] counts = candidates.counts;
+        int scanned = 0;
+        for (IntList slots : queryPostings) {
+            if (scanned > 0 && scanned + slots.size() > MAX_POSTING_ENTRIES) {
+                break;
+            }
+            scanned += slots.size();
+
+            for (int i = 0; i < slots.size(); i++) {
+                int slot = slots.get(i);
+                if (counts[slot] == 0) {
+                    if (counted.size() == MAX_CANDIDATE_SLOTS) {
+                        continue;
+                    }
+                    counted.add(slot);
+                    candidates.touch(slot);
+                }
+                counts[slot]++;
+            }
+        }
+
+        TopSlots similar = new TopSlots(maxSimilar, names);
+        for (int i = 0; i < counted.size(); i++) {
+            int slot = counted.get(i);
+            double similarity = 2.0 * counts[slot] / (queryTrigrams.size() + trigramCounts[slot]);
+
+            if (similarity >= MIN_SIMILARITY) {
+                candidates.score(slot, similarity);
+            }
+            similar.offer(slot, similarity);
+        }
+
+        return similar;
+    }
+
+    private void rescueTypos(String query, TopSlots similar, Scratch candidates) {
+        int allowedTypos = query.length() <= 4 ? 1 : 2;
+
+        for (int i = 0; i < similar.size(); i++) {
+            int slot = similar.slot(i);
+            int distance = Math.min(
+                    closestTokenDistance(query, normalizedNames[slot], allowedTypos),
+                    closestTokenDistance(query, normalizedBrands[slot], allowedTypos));
+            if (distance <= allowedTypos) {
+                candidates.score(slot, 1.0 - 0.1 * distance);
+            }
+        }
+    }
+
+    private int closestTokenDistance(String query, String text, int maxDistance) {
+        int best = boundedEditDistance(query, text, maxDistance);
+
+        for (String token : text.split(" ")) {
+            best = Math.min(best, boundedEditDistance(query, token, maxDistance));
+        }
+
+        return best;
+    }
+
+    static int boundedEditDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+
+    private void index(int slot) {
+        Set<Long> docTrigrams = docTrigrams(slot);
+        trigramCounts[slot] = docTrigrams.size();
+
+        for (Long trigram : docTrigrams) {
+            postings.computeIfAbsent(trigram, key -> new IntList()).add(slot);
+        }
+        for (String token : docTokens(slot)) {
+            tokens.computeIfAbsent(token, key -> new IntList()).add(slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        for (Long trigram : docTrigrams(slot)) {
+            IntList slots = postings.get(trigram);
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+        for (String token : docTokens(slot)) {
+            IntList slots = tokens.get(token);
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                tokens.remove(token);
+            }
+        }
+    }
+
+    private Set<Long> docTrigrams(int slot) {
+        Set<Long> docTrigrams = new HashSet<>();
+        trigrams(normalizedNames[slot], docTrigrams);
+        trigrams(normalizedBrands[slot], docTrigrams);
+
+        return docTrigrams;
+    }
+
+    private Set<String> docTokens(int slot) {
+        Set<String> docTokens = new HashSet<>();
+        docTokens.addAll(Arrays.asList(normalizedNames[slot].split(" ")));
+        docTokens.addAll(Arrays.asList(normalizedBrands[slot].split(" ")));
+        docTokens.remove("");
+
+        return docTokens;
+    }
+
+    private static Set<Long> trigrams(String text, Set<Long> target) {
+        String padded = " " + text + " ";
+
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            target.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+
+        return target;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private int nextSlot() {
+        if (slotCount == ids.length) {
+            int capacity = ids.length << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            brands = Arrays.copyOf(brands, capacity);
+            normalizedNames = Arrays.copyOf(normalizedNames, capacity);
+            normalizedBrands = Arrays.copyOf(normalizedBrands, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+        }
+
+        return slotCount++;
+    }
+
+    private int popFreeSlot() {
+        int slot = freeSlots.get(freeSlots.size() - 1);
+        freeSlots.remove(slot);
+        return slot;
+    }
+
+    /**
+     * Per-thread score and trigram count arrays indexed by slot. Only the touched slots are reset after a query.
+     */
+    private static class Scratch {
+        private int[] counts = new int[0];
+        private double[] scores = new double[0];
+        private final IntList touched = new IntList();
+
+        void ensureCapacity(int capacity) {
+            if (counts.length < capacity) {
+                counts = new int[capacity];
+                scores = new double[capacity];
+            }
+        }
+
+        void touch(int slot) {
+            if (counts[slot] == 0 && scores[slot] == 0) {
+                touched.add(slot);
+            }
+        }
+
+        void score(int slot, double score) {
+            touch(slot);
+            scores[slot] = Math.max(scores[slot], score);
+        }
+
+        void clear() {
+            for (int i = 0; i < touched.size(); i++) {
+                int slot = touched.get(i);
+                counts[slot] = 0;
+                scores[slot] = 0;
+            }
+            touched.clear();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.beerstock.search;
+
+import com.beerstock.dto.BeerSuggestionDTO;
+import com.beerstock.entity.Beer;
+import com.beerstock.event.BeerChangedEvent;
+import com.beerstock.repository.BeerStore;
+import com.beerstock.tenant.TenancyProperties;
+import com.beerstock.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class BeerSearchService {
+    @Autowired
+    private BeerStore beerStore;
+    @Autowired(required = false)
+    private EntityManager entityManager;
+    @Autowired
+    private TenancyProperties tenancyProperties;
+    private final Map<String, BeerSearchIndex> indexes = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try (Stream<Beer> beers = beerStore.streamAllByOrderByIdAsc()) {
+            beers.forEach(beer -> {
+                index(beer.getTenantId()).upsert(beer.getId(), beer.getName(), beer.getBrand());
+                if (entityManager != null) {
+                    entityManager.detach(beer);
+                }
+            });
+        }
+
+        log.info("Indexed {} beers of {} tenants for suggestions",
+                indexes.values().stream().mapToInt(BeerSearchIndex::size).sum(), indexes.size());
+    }
+
+    /**
+     * Tenants routed to their own database are not in the scan above; each is loaded with its tenant set,
+     * so the query opens its session on that tenant's database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildRoutedTenants() {
+        for (String tenantId : tenancyProperties.getRoutedTenantIds()) {
+            TenantContext.setTenantId(tenantId);
+            try {
+                BeerSearchIndex index = index(tenantId);
+                beerStore.findAllByTenantId(tenantId).forEach(beer -> index.upsert(beer.getId(), beer.getName(), beer.getBrand()));
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        BeerSearchIndex index = index(event.getTenantId());
+
+        switch (event.getChangeType()) {
+            case CREATED:
+            case UPDATED:
+                index.upsert(event.getBeerId(), event.getBeer().getName(), event.getBeer().getBrand());
+                break;
+            case DELETED:
+                index.remove(event.getBeerId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    public List<BeerSuggestionDTO> suggest(String query, int limit) {
+        BeerSearchIndex index = indexes.get(TenantContext.getTenantId());
+
+        return index == null ? List.of() : index.suggest(query, limit);
+    }
+
+    private BeerSearchIndex index(String tenantId) {
+        return indexes.computeIfAbsent(tenantId, key -> new BeerSearchIndex());
+    }
+}
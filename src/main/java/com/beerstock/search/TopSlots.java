@@ -0,0 +1,112 @@
+package com.beerstock.search;
+
+/**
+ * Bounded min-heap of slots by score, keeping the {@code capacity} best without boxing or sorting every
+ * candidate. Ties are broken by name, so the result does not depend on the order slots were offered in.
+ */
+class TopSlots {
+    private final int[] slots;
+    private final double[] scores;
+    private final String[] names;
+    private int size;
+
+    TopSlots(int capacity, String[] names) {
+        this.slots = new int[capacity];
+        this.scores = new double[capacity];
+        this.names = names;
+    }
+
+    void offer(int slot, double score) {
+        if (slots.length == 0) {
+            return;
+        }
+        if (size < slots.length) {
+            slots[size] = slot;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(0, slot, score)) {
+            slots[0] = slot;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int slot(int index) {
+        return slots[index];
+    }
+
+    double score(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Empties the heap into its arrays from best to worst; {@link #slot} and {@link #score} then read them in
+     * that order.
+     */
+    void sort() {
+        int count = size;
+        while (size > 1) {
+            swap(0, --size);
+            siftDown(0);
+        }
+        size = count;
+    }
+
+    /**
+     * Whether the entry at {@code index} ranks below the given slot and score.
+     */
+    private boolean worse(int index, int slot, double score) {
+        if (scores[index] != score) {
+            return scores[index] < score;
+        }
+        return compareNames(slots[index], slot) > 0;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(index, slots[parent], scores[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && worse(child + 1, slots[child], scores[child])) {
+                child++;
+            }
+            if (!worse(child, slots[index], scores[index])) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private int compareNames(int a, int b) {
+        String first = names[a] == null ? "" : names[a];
+        String second = names[b] == null ? "" : names[b];
+        return first.compareTo(second);
+    }
+
+    private void swap(int a, int b) {
+        int slot = slots[a];
+        slots[a] = slots[b];
+        slots[b] = slot;
+
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -1,15 +1,27 @@
 package com.beerstock.service;
 
+import com.beerstock.cache.HotBeerCache;
 import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.dto.BeerSuggestionDTO;
+import com.beerstock.dto.StockLevelDTO;
 import com.beerstock.entity.Beer;
+import com.beerstock.event.BeerChangedEvent;
 import com.beerstock.exception.BeerAlreadyRegisteredException;
 import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.BeerRuleViolationException;
 import com.beerstock.exception.BeerStockExceededException;
 import com.beerstock.exception.BeerStockLessThanZero;
 import com.beerstock.mapper.BeerMapper;
-import com.beerstock.repository.BeerRepository;
+import com.beerstock.repository.BeerStore;
+import com.beerstock.rules.BeerRuleEngine;
+import com.beerstock.search.BeerSearchService;
+import com.beerstock.tenant.TenantContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,54 +29,115 @@ import java.util.stream.Collectors;
 
 @Service
 public class BeerService {
+    private static final int MAX_SUGGESTIONS = 50;
+
+    @Autowired
+    private BeerStore beerRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     @Autowired
-    private BeerRepository beerRepository;
+    private BeerSearchService beerSearchService;
+    @Autowired
+    private BeerStatsService beerStatsService;
+    @Autowired
+    private BeerRuleEngine beerRuleEngine;
+    @Autowired(required = false)
+    private HotBeerCache hotBeerCache;
     private final BeerMapper beerMapper = BeerMapper.INSTANCE;
 
+    @Transactional
     public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
         verifyIfIsAlreadyRegistered(beerDTO.getName());
 
         Beer beer = beerMapper.beerDTOToBeer(beerDTO);
+        beer.setTenantId(TenantContext.getTenantId());
+
+        Beer createdBeer = save(beer);
+        BeerDTO createdBeerDTO = beerMapper.beerToBeerDTO(createdBeer);
 
-        Beer createdBeer = beerRepository.save(beer);
+        eventPublisher.publishEvent(BeerChangedEvent.created(createdBeerDTO));
 
-        return beerMapper.beerToBeerDTO(createdBeer);
+        return createdBeerDTO;
     }
 
+    @Transactional(readOnly = true)
     public BeerDTO findByName(String beerName) throws BeerNotFoundException{
-        Beer beer = verifyIfExists(beerName);
+        if (hotBeerCache == null) {
+            return beerMapper.beerToBeerDTO(verifyIfExists(beerName));
+        }
+
+        String tenantId = TenantContext.getTenantId();
+        BeerDTO cachedBeer = hotBeerCache.get(tenantId, beerName);
+        if (cachedBeer != null) {
+            return cachedBeer;
+        }
+
+        long stamp = hotBeerCache.stamp();
+        BeerDTO beerDTO = beerMapper.beerToBeerDTO(verifyIfExists(beerName));
+        hotBeerCache.admit(tenantId, beerDTO, stamp);
+
+        return beerDTO;
+    }
 
-        return beerMapper.beerToBeerDTO(beer);
+    public List<BeerSuggestionDTO> suggest(String query, int limit){
+        return beerSearchService.suggest(query, Math.min(limit, MAX_SUGGESTIONS));
     }
 
+    public BeerStatsDTO stats(){
+        return beerStatsService.stats();
+    }
+
+    @Transactional(readOnly = true)
     public List<BeerDTO> listAll(){
-        return beerRepository.findAll()
+        return beerRepository.findAllByTenantId(TenantContext.getTenantId())
                 .stream()
                 .map(beerMapper::beerToBeerDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public BeerDTO deleteById(Long id) throws BeerNotFoundException{
        Beer beerDeleted = verifyIfExists(id);
 
        beerRepository.deleteById(id);
+       BeerDTO deletedBeerDTO = beerMapper.beerToBeerDTO(beerDeleted);
+
+       eventPublisher.publishEvent(BeerChangedEvent.deleted(deletedBeerDTO));
 
-       return beerMapper.beerToBeerDTO(beerDeleted);
+       return deletedBeerDTO;
     }
 
+    @Transactional
     public BeerDTO updateBeer(Long id, BeerDTO beerDTO) throws BeerNotFoundException, BeerAlreadyRegisteredException {
         verifyIfIsAlreadyRegistered(beerDTO.getName());
-        verifyIfExists(id);
+        int previousQuantity = verifyIfExists(id).getQuantity();
 
         beerDTO.setId(id);
+        Beer beer = beerMapper.beerDTOToBeer(beerDTO);
+        beer.setTenantId(TenantContext.getTenantId());
+
+        Beer updatedBeer = save(beer);
+        BeerDTO updatedBeerDTO = beerMapper.beerToBeerDTO(updatedBeer);
+
+        eventPublisher.publishEvent(BeerChangedEvent.updated(updatedBeerDTO, updatedBeerDTO.getQuantity() - previousQuantity));
 
-        Beer updatedBeer = beerRepository.save(beerMapper.beerDTOToBeer(beerDTO));
+        return updatedBeerDTO;
+    }
 
-        return beerMapper.beerToBeerDTO(updatedBeer);
+    /**
+     * Saves a created or updated beer. A concurrent request can register the same name between
+     * {@link #verifyIfIsAlreadyRegistered} and the save; the store then rejects it as a duplicate.
+     */
+    private Beer save(Beer beer) throws BeerAlreadyRegisteredException {
+        try {
+            return beerRepository.save(beer);
+        } catch (DataIntegrityViolationException e) {
+            throw new BeerAlreadyRegisteredException(beer.getName());
+        }
     }
 
     private Beer verifyIfIsAlreadyRegistered(String name) throws BeerAlreadyRegisteredException{
-        Optional<Beer> beer = beerRepository.findByName(name);
+        Optional<Beer> beer = beerRepository.findByTenantIdAndName(TenantContext.getTenantId(), name);
 
         if (beer.isPresent()){
             throw new BeerAlreadyRegisteredException(name);
@@ -78,7 +151,7 @@ public class BeerService {
     }
 
     private Beer verifyIfExists(String name) throws BeerNotFoundException{
-        Optional<Beer> beer = beerRepository.findByName(name);
+        Optional<Beer> beer = beerRepository.findByTenantIdAndName(TenantContext.getTenantId(), name);
 
         if (beer.isEmpty()){
             throw new BeerNotFoundException(name);
@@ -88,7 +161,7 @@ public class BeerService {
     }
 
     private Beer verifyIfExists(Long id) throws BeerNotFoundException{
-        Optional<Beer> beer = beerRepository.findById(id);
+        Optional<Beer> beer = beerRepository.findByTenantIdAndId(TenantContext.getTenantId(), id);
 
         if (beer.isEmpty()){
             throw new BeerNotFoundException(id);
@@ -97,29 +170,116 @@ public class BeerService {
         return beer.get();
     }
 
-    public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
+    @Transactional
+    public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
+       recordAccess(id);
        Beer beer = verifyIfExists(id);
 
        if(beer.getQuantity() + quantityToIncrement > beer.getMaxQuantity()){
            throw new BeerStockExceededException(id, quantityToIncrement);
        }
+       beerRuleEngine.checkIncrement(beer, quantityToIncrement);
 
        beer.setQuantity(beer.getQuantity() + quantityToIncrement);
        Beer updatedBeer = beerRepository.save(beer);
+       BeerDTO updatedBeerDTO = beerMapper.beerToBeerDTO(updatedBeer);
+
+       eventPublisher.publishEvent(BeerChangedEvent.stockChanged(updatedBeerDTO, quantityToIncrement));
 
-       return beerMapper.beerToBeerDTO(updatedBeer);
+       return updatedBeerDTO;
     }
 
-    public BeerDTO decrement(Long id, int quantityToDecrement) throws BeerNotFoundException, BeerStockLessThanZero {
+    @Transactional
+    public BeerDTO decrement(Long id, int quantityToDecrement) throws BeerNotFoundException, BeerStockLessThanZero, BeerRuleViolationException {
+        recordAccess(id);
         Beer beer = verifyIfExists(id);
 
         if(beer.getQuantity() - quantityToDecrement < 0){
             throw new BeerStockLessThanZero(id);
         }
+        beerRuleEngine.checkDecrement(beer, quantityToDecrement);
 
         beer.setQuantity(beer.getQuantity() - quantityToDecrement);
         Beer updatedBeer = beerRepository.save(beer);
+        BeerDTO updatedBeerDTO = beerMapper.beerToBeerDTO(updatedBeer);
+
+        eventPublisher.publishEvent(BeerChangedEvent.stockChanged(updatedBeerDTO, -quantityToDecrement));
+
+        return updatedBeerDTO;
+    }
+
+    /**
+     * Lean variant of {@link #increment}: a single conditional update followed by a scalar read of the new
+     * quantity, without loading the beer or mapping it. The existence and capacity checks only run, as one
+     * more scalar read, when the update changed nothing. The beer is only loaded when stock rules are defined,
+     * and the rule's max quantity then bounds the update as well; the checks run in the order of
+     * {@link #increment}, so both paths fail the same way.
+     */
+    @Transactional
+    public StockLevelDTO incrementStock(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
+        String tenantId = TenantContext.getTenantId();
+        Beer beer = null;
+        int ceiling = Integer.MAX_VALUE;
+        if (beerRuleEngine.hasRules()) {
+            beer = verifyIfExists(id);
+            if (beer.getQuantity() + quantityToIncrement > beer.getMaxQuantity()) {
+                throw new BeerStockExceededException(id, quantityToIncrement);
+            }
+            beerRuleEngine.checkIncrement(beer, quantityToIncrement);
+            ceiling = beerRuleEngine.maxQuantityFor(beer);
+        }
+
+        if (beerRepository.addQuantity(tenantId, id, quantityToIncrement, ceiling) == 0) {
+            int quantity = currentQuantity(tenantId, id);
+            if (beer != null && quantity + quantityToIncrement <= beer.getMaxQuantity()) {
+                throw new BeerRuleViolationException(id, "stock cannot exceed " + ceiling);
+            }
+            throw new BeerStockExceededException(id, quantityToIncrement);
+        }
+
+        return stockChanged(tenantId, id, quantityToIncrement);
+    }
+
+    /**
+     * Lean variant of {@link #decrement}, see {@link #incrementStock}.
+     */
+    @Transactional
+    public StockLevelDTO decrementStock(Long id, int quantityToDecrement) throws BeerNotFoundException, BeerStockLessThanZero, BeerRuleViolationException {
+        String tenantId = TenantContext.getTenantId();
+        if (beerRuleEngine.hasRules()) {
+            beerRuleEngine.checkDecrement(verifyIfExists(id), quantityToDecrement);
+        }
+
+        if (beerRepository.addQuantity(tenantId, id, -quantityToDecrement, Integer.MAX_VALUE) == 0) {
+            currentQuantity(tenantId, id);
+            throw new BeerStockLessThanZero(id);
+        }
+
+        return stockChanged(tenantId, id, -quantityToDecrement);
+    }
+
+    private StockLevelDTO stockChanged(String tenantId, Long id, int delta) throws BeerNotFoundException {
+        int quantity = currentQuantity(tenantId, id);
+        recordAccess(id);
+
+        eventPublisher.publishEvent(BeerChangedEvent.stockChanged(id, quantity, delta));
+
+        return new StockLevelDTO(id, quantity);
+    }
+
+    private void recordAccess(Long id) {
+        if (hotBeerCache != null) {
+            hotBeerCache.recordAccess(TenantContext.getTenantId(), id);
+        }
+    }
+
+    private int currentQuantity(String tenantId, Long id) throws BeerNotFoundException {
+        Optional<Integer> quantity = beerRepository.findQuantityByTenantIdAndId(tenantId, id);
+
+        if (quantity.isEmpty()){
+            throw new BeerNotFoundException(id);
+        }
 
-        return beerMapper.beerToBeerDTO(updatedBeer);
+        return quantity.get();
     }
 }
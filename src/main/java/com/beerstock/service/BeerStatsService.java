@@ -0,0 +1,140 @@
+package com.beerstock.service;
+
+import com.beerstock.catalog.BeerCatalogSnapshot;
+import com.beerstock.catalog.BeerCatalogSnapshotService;
+import com.beerstock.catalog.CatalogAggregator;
+import com.beerstock.dto.BeerFillLevelDTO;
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.event.BeerChangedEvent;
+import com.beerstock.mapper.BeerMapper;
+import com.beerstock.repository.BeerRepository;
+import com.beerstock.repository.BeerStore;
+import com.beerstock.repository.BeerTypeStock;
+import com.beerstock.repository.BrandStock;
+import com.beerstock.tenant.TenancyProperties;
+import com.beerstock.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog statistics, computed in memory from the catalog snapshot when it is enabled, with GROUP BY
+ * projections on the JPA backend otherwise, and from a one-off scan on other backends. The result is
+ * cached per tenant until the next committed mutation of that tenant, so a busy tenant does not keep
+ * invalidating the stats of the others. Only known tenants get a cache entry; others read empty stats.
+ */
+@Service
+public class BeerStatsService {
+    @Autowired
+    private BeerStore beerStore;
+    @Autowired(required = false)
+    private BeerRepository beerRepository;
+    @Autowired(required = false)
+    private BeerCatalogSnapshotService beerCatalogSnapshotService;
+    @Autowired
+    private TenancyProperties tenancyProperties;
+    @Value("${beerstock.stats.nearest-max-size:10}")
+    private int nearestMaxSize;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, CachedStats> cache = new ConcurrentHashMap<>();
+
+    public BeerStatsDTO stats() {
+        String tenantId = TenantContext.getTenantId();
+        if (!tenancyProperties.isKnown(tenantId)) {
+            return CatalogAggregator.sequential(new BeerCatalogSnapshot().view(), nearestMaxSize);
+        }
+
+        AtomicLong version = version(tenantId);
+        CachedStats cached = cache.get(tenantId);
+        long currentVersion = version.get();
+        if (cached != null && cached.version == currentVersion) {
+            return cached.stats;
+        }
+
+        BeerStatsDTO stats;
+        if (beerCatalogSnapshotService != null) {
+            stats = CatalogAggregator.parallel(beerCatalogSnapshotService.view(tenantId), nearestMaxSize, ForkJoinPool.commonPool());
+        } else if (beerRepository != null) {
+            stats = computeFromDatabase(tenantId);
+        } else {
+            stats = computeFromScan(tenantId);
+        }
+
+        if (version.get() == currentVersion) {
+            cache.put(tenantId, new CachedStats(currentVersion, stats));
+        }
+
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        version(event.getTenantId()).incrementAndGet();
+    }
+
+    private AtomicLong version(String tenantId) {
+        return versions.computeIfAbsent(tenantId, key -> new AtomicLong());
+    }
+
+    private BeerStatsDTO computeFromDatabase(String tenantId) {
+        Map<BeerType, Long> stockByType = new EnumMap<>(BeerType.class);
+        for (BeerType type : BeerType.values()) {
+            stockByType.put(type, 0L);
+        }
+        for (BeerTypeStock typeStock : beerRepository.sumQuantityByType(tenantId)) {
+            stockByType.put(typeStock.getType(), typeStock.getQuantity());
+        }
+
+        Map<String, Double> fillRatioByBrand = new TreeMap<>();
+        for (BrandStock brandStock : beerRepository.sumQuantityByBrand(tenantId)) {
+            if (brandStock.getMaxQuantity() > 0) {
+                fillRatioByBrand.put(brandStock.getBrand(), (double) brandStock.getQuantity() / brandStock.getMaxQuantity());
+            }
+        }
+
+        List<BeerFillLevelDTO> nearestMax = beerRepository.findNearestMax(tenantId, PageRequest.of(0, nearestMaxSize))
+                .stream()
+                .map(this::toFillLevel)
+                .collect(Collectors.toList());
+
+        return new BeerStatsDTO(stockByType, fillRatioByBrand, nearestMax);
+    }
+
+    private BeerStatsDTO computeFromScan(String tenantId) {
+        BeerCatalogSnapshot snapshot = new BeerCatalogSnapshot();
+
+        beerStore.findAllByTenantId(tenantId).forEach(beer -> snapshot.upsert(BeerMapper.INSTANCE.beerToBeerDTO(beer)));
+
+        return CatalogAggregator.sequential(snapshot.view(), nearestMaxSize);
+    }
+
+    private BeerFillLevelDTO toFillLevel(Beer beer) {
+        double fillRatio = beer.getMaxQuantity() == 0 ? 0.0 : (double) beer.getQuantity() / beer.getMaxQuantity();
+
+        return new BeerFillLevelDTO(beer.getId(), beer.getName(), beer.getBrand(), beer.getQuantity(), beer.getMaxQuantity(), fillRatio);
+    }
+
+    private static class CachedStats {
+        private final long version;
+        private final BeerStatsDTO stats;
+
+        CachedStats(long version, BeerStatsDTO stats) {
+            this.version = version;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.beerstock.service;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.tenant.TenantContext;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Getter
+public class StockMutation {
+    private static final int PENDING = 0;
+    private static final int CLAIMED = 1;
+    private static final int CANCELLED = 2;
+
+    private final String tenantId;
+    private final Long beerId;
+    private final int delta;
+    private final CompletableFuture<BeerDTO> future = new CompletableFuture<>();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    private BeerDTO result;
+    private Exception error;
+
+    public StockMutation(Long beerId, int delta) {
+        this.tenantId = TenantContext.getTenantId();
+        this.beerId = beerId;
+        this.delta = delta;
+    }
+
+    /**
+     * Reserves the mutation for the writer. Fails when its caller already gave up on it or its future is done,
+     * in which case it must not be applied.
+     */
+    boolean claim() {
+        return !future.isDone() && state.compareAndSet(PENDING, CLAIMED);
+    }
+
+    /**
+     * Withdraws the mutation and cancels its future, unless the writer already claimed it.
+     */
+    boolean cancel() {
+        if (!state.compareAndSet(PENDING, CANCELLED)) {
+            return false;
+        }
+
+        future.cancel(false);
+        return true;
+    }
+
+    void succeeded(BeerDTO result) {
+        this.result = result;
+        this.error = null;
+    }
+
+    void failed(Exception error) {
+        this.result = null;
+        this.error = error;
+    }
+
+    void complete() {
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(result);
+        }
+    }
+}
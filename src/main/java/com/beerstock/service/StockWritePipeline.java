@@ -0,0 +1,227 @@
+package com.beerstock.service;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.BeerRuleViolationException;
+import com.beerstock.exception.BeerStockExceededException;
+import com.beerstock.exception.BeerStockLessThanZero;
+import com.beerstock.exception.StockWritePipelineStoppedException;
+import com.beerstock.exception.StockWriteQueueFullException;
+import com.beerstock.exception.StockWriteTimeoutException;
+import com.beerstock.tenant.TenantContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues stock mutations and applies them in groups, one transaction per group, so the commit cost is
+ * shared by every caller in the group. Each caller still gets its own result or exception. Mutations keep
+ * the tenant of the caller, and a group spanning tenants is committed as one transaction per tenant.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "beerstock.stock.async", name = "enabled", havingValue = "true")
+public class StockWritePipeline {
+    private final BeerService beerService;
+    private final TransactionTemplate transactionTemplate;
+    private final StockWritePipelineProperties properties;
+    private final BlockingQueue<StockMutation> queue;
+    private final DistributionSummary groupSize;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public StockWritePipeline(BeerService beerService,
+                              PlatformTransactionManager transactionManager,
+                              StockWritePipelineProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.beerService = beerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.groupSize = DistributionSummary.builder("beerstock.stock.write.group.size")
+                .description("Number of stock mutations committed in a single transaction")
+                .register(meterRegistry);
+
+        Gauge.builder("beerstock.stock.write.queue.depth", queue, BlockingQueue::size)
+                .description("Stock mutations waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "stock-write-pipeline");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(properties.getAwaitTimeout());
+    }
+
+    /**
+     * Queues an increment and returns its outcome without waiting for it, so no request thread is parked on the
+     * writer. A full or stopped queue is reported right away; anything else completes the returned future.
+     */
+    public CompletableFuture<BeerDTO> increment(Long id, int quantityToIncrement) throws StockWriteQueueFullException, StockWritePipelineStoppedException {
+        return withTimeout(new StockMutation(id, quantityToIncrement));
+    }
+
+    public CompletableFuture<BeerDTO> decrement(Long id, int quantityToDecrement) throws StockWriteQueueFullException, StockWritePipelineStoppedException {
+        return withTimeout(new StockMutation(id, -quantityToDecrement));
+    }
+
+    public CompletableFuture<BeerDTO> submit(StockMutation mutation) throws StockWriteQueueFullException, StockWritePipelineStoppedException {
+        if (!running) {
+            throw new StockWritePipelineStoppedException(mutation.getBeerId());
+        }
+        if (!queue.offer(mutation)) {
+            throw new StockWriteQueueFullException(mutation.getBeerId());
+        }
+
+        return mutation.getFuture();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Submits the mutation and fails it with {@link StockWriteTimeoutException} if the writer has not claimed it
+     * within the await timeout. The mutation is withdrawn first, so a caller that retries does not get it applied
+     * twice; once claimed, the writer's outcome is passed on however long it takes.
+     */
+    private CompletableFuture<BeerDTO> withTimeout(StockMutation mutation) throws StockWriteQueueFullException, StockWritePipelineStoppedException {
+        CompletableFuture<BeerDTO> result = new CompletableFuture<>();
+        submit(mutation).whenComplete((applied, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(applied);
+            }
+        });
+
+        CompletableFuture.delayedExecutor(properties.getAwaitTimeout(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (mutation.cancel()) {
+                result.completeExceptionally(new StockWriteTimeoutException(mutation.getBeerId()));
+            }
+        });
+
+        return result;
+    }
+
+    private void drainLoop() {
+        List<StockMutation> group = new ArrayList<>(properties.getMaxGroupSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                collectGroup(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!group.isEmpty()) {
+                applyGroup(group);
+                group.clear();
+            }
+        }
+    }
+
+    private void collectGroup(List<StockMutation> group) throws InterruptedException {
+        StockMutation first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        group.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMaxDelay());
+        while (group.size() < properties.getMaxGroupSize()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+
+            StockMutation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+    }
+
+    private void applyGroup(List<StockMutation> group) {
+        Map<String, List<StockMutation>> groupsByTenant = new LinkedHashMap<>();
+        for (StockMutation mutation : group) {
+            groupsByTenant.computeIfAbsent(mutation.getTenantId(), key -> new ArrayList<>()).add(mutation);
+        }
+
+        groupsByTenant.forEach((tenantId, tenantGroup) -> {
+            TenantContext.setTenantId(tenantId);
+            try {
+                applyTenantGroup(tenantGroup);
+            } finally {
+                TenantContext.clear();
+            }
+        });
+    }
+
+    private void applyTenantGroup(List<StockMutation> group) {
+        group.removeIf(mutation -> !mutation.claim());
+        if (group.isEmpty()) {
+            return;
+        }
+        groupSize.record(group.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> group.forEach(this::apply));
+            group.forEach(StockMutation::complete);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} stock mutations failed, retrying them one by one", group.size(), e);
+            group.forEach(this::applyAlone);
+        }
+    }
+
+    private void applyAlone(StockMutation mutation) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(mutation));
+            mutation.complete();
+        } catch (RuntimeException e) {
+            mutation.getFuture().completeExceptionally(e);
+        }
+    }
+
+    private void apply(StockMutation mutation) {
+        try {
+            BeerDTO result = mutation.getDelta() >= 0
+                    ? beerService.increment(mutation.getBeerId(), mutation.getDelta())
+                    : beerService.decrement(mutation.getBeerId(), -mutation.getDelta());
+            mutation.succeeded(result);
+        } catch (BeerNotFoundException | BeerStockExceededException | BeerStockLessThanZero | BeerRuleViolationException e) {
+            mutation.failed(e);
+        }
+    }
+}
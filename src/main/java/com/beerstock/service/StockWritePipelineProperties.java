@@ -0,0 +1,18 @@
+package com.beerstock.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.stock.async")
+public class StockWritePipelineProperties {
+    private boolean enabled;
+
+    private int queueCapacity = 1024;
+
+    private int maxGroupSize = 64;
+
+    private long maxDelay = 5;
+
+    private long awaitTimeout = 5000;
+}
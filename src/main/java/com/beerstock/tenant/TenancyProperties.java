@@ -0,0 +1,73 @@
+package com.beerstock.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.tenancy")
+public class TenancyProperties {
+    private String header = "X-Tenant-Id";
+
+    private List<String> allowedTenants = new ArrayList<>();
+
+    private int maxConcurrentRequests;
+
+    private long retryAfter = 1;
+
+    private Routing routing = new Routing();
+
+    /**
+     * Whether requests may run as {@code tenantId}: the default tenant, the routed tenants when routing is
+     * enabled, or else the allowed tenants. With neither configured only the default tenant is known, since
+     * every accepted tenant gets its own bulkhead, meters, index and caches.
+     */
+    public boolean isKnown(String tenantId) {
+        if (TenantContext.DEFAULT_TENANT.equals(tenantId)) {
+            return true;
+        }
+        if (routing.isEnabled()) {
+            return routing.getTenants().containsKey(tenantId);
+        }
+
+        return allowedTenants.contains(tenantId);
+    }
+
+    /**
+     * Tenants with a database of their own, which scans of the primary database do not see.
+     */
+    public Set<String> getRoutedTenantIds() {
+        return routing.isEnabled() ? routing.getTenants().keySet() : Collections.emptySet();
+    }
+
+    /**
+     * The default tenant followed by the routed ones: one entry per database that background jobs must visit.
+     */
+    public List<String> getDatabaseTenantIds() {
+        List<String> tenantIds = new ArrayList<>();
+        tenantIds.add(TenantContext.DEFAULT_TENANT);
+        tenantIds.addAll(getRoutedTenantIds());
+
+        return tenantIds;
+    }
+
+    @Data
+    public static class Routing {
+        private boolean enabled;
+        private boolean initializeSchema = true;
+        private Map<String, Node> tenants = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
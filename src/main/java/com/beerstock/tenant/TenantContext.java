@@ -0,0 +1,28 @@
+package com.beerstock.tenant;
+
+/**
+ * The tenant of the current thread. Requests get it from {@link TenantInterceptor}; code outside a request
+ * (startup, scheduled jobs, the stock write pipeline) runs as {@link #DEFAULT_TENANT} unless it sets one.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,121 @@
+package com.beerstock.tenant;
+
+import com.beerstock.exception.InvalidTenantException;
+import com.beerstock.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the tenant of each API request from the tenant header into {@link TenantContext}, and isolates
+ * tenants from each other: every tenant gets its own bulkhead of concurrent requests, so a load spike or a
+ * large {@code listAll} of one tenant cannot take all the request threads and connections, and its own
+ * request timer.
+ */
+@Component
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String TENANT = TenantInterceptor.class.getName() + ".TENANT";
+    private static final String STARTED_AT = TenantInterceptor.class.getName() + ".STARTED_AT";
+
+    private final TenancyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public TenantInterceptor(TenancyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InvalidTenantException, ServiceOverloadedException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            TenantContext.setTenantId((String) request.getAttribute(TENANT));
+            return true;
+        }
+
+        String tenantId = resolve(request);
+
+        if (properties.getMaxConcurrentRequests() > 0 && !bulkhead(tenantId).tryAcquire()) {
+            Counter.builder("beerstock.tenant.rejected")
+                    .description("Requests rejected because their tenant reached its concurrency bulkhead")
+                    .tag("tenant", tenantId)
+                    .register(meterRegistry)
+                    .increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(properties.getRetryAfter()));
+            throw new ServiceOverloadedException("tenant " + tenantId + " has " + properties.getMaxConcurrentRequests()
+                    + " requests in flight", properties.getRetryAfter());
+        }
+
+        request.setAttribute(TENANT, tenantId);
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        TenantContext.setTenantId(tenantId);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TenantContext.clear();
+
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt == null) {
+            return;
+        }
+        request.removeAttribute(STARTED_AT);
+
+        String tenantId = (String) request.getAttribute(TENANT);
+        timer(tenantId).record(System.nanoTime() - (Long) startedAt, TimeUnit.NANOSECONDS);
+        if (properties.getMaxConcurrentRequests() > 0) {
+            bulkhead(tenantId).release();
+        }
+    }
+
+    public int getInFlight(String tenantId) {
+        Semaphore bulkhead = bulkheads.get(tenantId);
+
+        return bulkhead == null ? 0 : properties.getMaxConcurrentRequests() - bulkhead.availablePermits();
+    }
+
+    private String resolve(HttpServletRequest request) throws InvalidTenantException {
+        String tenantId = request.getHeader(properties.getHeader());
+
+        if (tenantId == null || tenantId.isEmpty()) {
+            return TenantContext.DEFAULT_TENANT;
+        }
+        if (!TENANT_ID.matcher(tenantId).matches() || !properties.isKnown(tenantId)) {
+            throw new InvalidTenantException(tenantId);
+        }
+
+        return tenantId;
+    }
+
+    private Semaphore bulkhead(String tenantId) {
+        return bulkheads.computeIfAbsent(tenantId, key -> new Semaphore(properties.getMaxConcurrentRequests()));
+    }
+
+    private Timer timer(String tenantId) {
+        return timers.computeIfAbsent(tenantId, key -> Timer.builder("beerstock.tenant.requests")
+                .description("API requests per tenant")
+                .tag("tenant", key)
+                .register(meterRegistry));
+    }
+}
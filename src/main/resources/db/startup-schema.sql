@@ -0,0 +1,68 @@
+CREATE SEQUENCE IF NOT EXISTS beer_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS beer (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    brand VARCHAR(255) NOT NULL,
+    max_quantity INTEGER NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_beer_tenant_name UNIQUE (tenant_id, name)
+);
+
+CREATE SEQUENCE IF NOT EXISTS outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGINT PRIMARY KEY,
+    beer_id BIGINT NOT NULL,
+    change_type VARCHAR(32) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS outbox_cursor (
+    name VARCHAR(64) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS outbox_gap (
+    event_id BIGINT PRIMARY KEY,
+    give_up_at TIMESTAMP NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS stock_sample_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stock_sample (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    beer_id BIGINT NOT NULL,
+    sampled_at TIMESTAMP NOT NULL,
+    quantity INTEGER NOT NULL,
+    delta INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_stock_sample_time ON stock_sample (sampled_at);
+
+CREATE INDEX IF NOT EXISTS ix_stock_sample_beer ON stock_sample (tenant_id, beer_id, sampled_at);
+
+CREATE SEQUENCE IF NOT EXISTS stock_bucket_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stock_bucket (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    beer_id BIGINT NOT NULL,
+    resolution VARCHAR(16) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    min_quantity INTEGER NOT NULL,
+    max_quantity INTEGER NOT NULL,
+    last_quantity INTEGER NOT NULL,
+    stock_in BIGINT NOT NULL,
+    stock_out BIGINT NOT NULL,
+    CONSTRAINT uk_stock_bucket UNIQUE (tenant_id, beer_id, resolution, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS stock_history_cursor (
+    resolution VARCHAR(16) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL
+);
@@ -0,0 +1,104 @@
+package com.beerstock.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Black-box replay of the scenarios covered by BeerControllerTest and BeerServiceTest against a running
+ * build of the application. Used for builds where the Mockito based suites cannot run, such as the native image.
+ *
+ * <pre>
+ * ApiContractCheck -- build/native/nativeCompile/beerstock
+ * </pre>
+ */
+public class ApiContractCheck {
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final String beerApiUrl;
+    private final List<String> failures = new ArrayList<>();
+
+    ApiContractCheck(String baseUrl) {
+        this.beerApiUrl = baseUrl + ApplicationProcess.BEER_API_URL_PATH;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Missing the command that starts the application after '--'");
+        }
+
+        List<String> failures;
+        try (ApplicationProcess application = ApplicationProcess.start(Arrays.asList(args).subList(separator + 1, args.length))) {
+            application.awaitFirstSuccessfulRequest();
+            failures = new ApiContractCheck(application.getBaseUrl()).run();
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(System.err::println);
+            System.exit(1);
+        }
+        System.out.println("All API contract checks passed");
+    }
+
+    List<String> run() throws Exception {
+        String beer = "{\"name\":\"Brahma\",\"brand\":\"Ambev\",\"maxQuantity\":50,\"quantity\":10,\"type\":\"LARGER\"}";
+        String beerWithoutName = "{\"brand\":\"Ambev\",\"maxQuantity\":50,\"quantity\":10,\"type\":\"LARGER\"}";
+
+        HttpResponse<String> created = send("POST", "", beer);
+        expect("create beer", created, 200, "\"name\":\"Brahma\"");
+        expect("create beer without name", send("POST", "", beerWithoutName), 400, null);
+        expect("create duplicated beer", send("POST", "", beer), 400, null);
+
+        Matcher id = ID.matcher(created.body());
+        if (!id.find()) {
+            failures.add("create beer: response has no id: " + created.body());
+            return failures;
+        }
+        String beerId = id.group(1);
+        String invalidId = "999999";
+
+        expect("find by name", send("GET", "/Brahma", null), 200, "\"brand\":\"Ambev\"");
+        expect("find unknown name", send("GET", "/Unknown", null), 404, null);
+        expect("list all", send("GET", "", null), 200, "\"name\":\"Brahma\"");
+
+        expect("increment", send("PATCH", "/" + beerId + "/increment", "{\"quantity\":10}"), 200, "\"quantity\":20");
+        expect("increment over max", send("PATCH", "/" + beerId + "/increment", "{\"quantity\":55}"), 400, null);
+        expect("increment unknown id", send("PATCH", "/" + invalidId + "/increment", "{\"quantity\":10}"), 404, null);
+        expect("decrement", send("PATCH", "/" + beerId + "/decrement", "{\"quantity\":5}"), 200, "\"quantity\":15");
+        expect("decrement below zero", send("PATCH", "/" + beerId + "/decrement", "{\"quantity\":16}"), 400, null);
+        expect("decrement unknown id", send("PATCH", "/" + invalidId + "/decrement", "{\"quantity\":5}"), 404, null);
+
+        String updated = beer.replace("Brahma", "Brahma Duplo Malte");
+        expect("update", send("PUT", "/" + beerId, updated), 200, "\"name\":\"Brahma Duplo Malte\"");
+        expect("update unknown id", send("PUT", "/" + invalidId, beer.replace("Brahma", "Skol")), 404, null);
+
+        expect("delete", send("DELETE", "/" + beerId, null), 200, "\"id\":" + beerId);
+        expect("delete unknown id", send("DELETE", "/" + beerId, null), 404, null);
+
+        return failures;
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(beerApiUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void expect(String scenario, HttpResponse<String> response, int status, String bodyFragment) {
+        if (response.statusCode() != status) {
+            failures.add(scenario + ": expected status " + status + " but was " + response.statusCode() + " " + response.body());
+        } else if (bodyFragment != null && !response.body().contains(bodyFragment)) {
+            failures.add(scenario + ": expected body to contain " + bodyFragment + " but was " + response.body());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.beerstock.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A locally started instance of the application (JVM or native executable) listening on a free port.
+ */
+public class ApplicationProcess implements AutoCloseable {
+    static final String BEER_API_URL_PATH = "/api/v1/beer";
+    static final String CATALOG_API_URL_PATH = "/api/v1/beer-catalog";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final Process process;
+    private final File log;
+    private final int port;
+    private final long startedAt;
+
+    private ApplicationProcess(Process process, File log, int port, long startedAt) {
+        this.process = process;
+        this.log = log;
+        this.port = port;
+        this.startedAt = startedAt;
+    }
+
+    public static ApplicationProcess start(List<String> command) throws IOException {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+
+        File log = File.createTempFile("beerstock", ".log");
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+
+        return new ApplicationProcess(process, log, port, startedAt);
+    }
+
+    /**
+     * Blocks until {@code GET /api/v1/beer} answers 200 and returns the elapsed time since the process was started.
+     */
+    public long awaitFirstSuccessfulRequest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(getBaseUrl() + BEER_API_URL_PATH))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        while (System.nanoTime() - startedAt < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue()
+                        + " before serving a request:\n" + Files.readString(log.toPath()));
+            }
+
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+
+            Thread.sleep(5);
+        }
+
+        throw new IllegalStateException("Application did not serve " + BEER_API_URL_PATH + " within " + STARTUP_TIMEOUT);
+    }
+
+    public long residentSetSizeKb() throws IOException {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.replaceAll("[^0-9]", ""))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(-1);
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        Files.deleteIfExists(log.toPath());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.beerstock.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters of one endpoint. Client errors (4xx, e.g. stock below zero) are
+ * counted apart from failures (5xx, timeouts, connection errors).
+ */
+public class EndpointStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public void record(long latencyNanos, int status) {
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+
+        if (status >= 200 && status < 300) {
+            successes.increment();
+        } else if (status >= 400 && status < 500) {
+            clientErrors.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    public void add(EndpointStats other) {
+        latencyMicros.add(other.latencyMicros);
+        successes.add(other.successes.sum());
+        clientErrors.add(other.clientErrors.sum());
+        failures.add(other.failures.sum());
+    }
+
+    public long getRequests() {
+        return successes.sum() + clientErrors.sum() + failures.sum();
+    }
+
+    public String toJson(double durationSeconds) {
+        long requests = getRequests();
+
+        return String.format(Locale.ROOT,
+                "{\"requests\": %d, \"throughput\": %.1f, \"successes\": %d, \"clientErrors\": %d, \"failures\": %d, "
+                        + "\"errorRate\": %.5f, \"latencyMillis\": {\"p50\": %.3f, \"p99\": %.3f, \"p999\": %.3f, "
+                        + "\"max\": %.3f, \"mean\": %.3f}}",
+                requests, requests / durationSeconds, successes.sum(), clientErrors.sum(), failures.sum(),
+                requests == 0 ? 0.0 : (double) (clientErrors.sum() + failures.sum()) / requests,
+                millis(latencyMicros.getValueAtPercentile(50)), millis(latencyMicros.getValueAtPercentile(99)),
+                millis(latencyMicros.getValueAtPercentile(99.9)), millis(latencyMicros.getMaxValue()),
+                latencyMicros.getMean() / 1000.0);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
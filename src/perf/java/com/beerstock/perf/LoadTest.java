@@ -0,0 +1,210 @@
+package com.beerstock.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator: {@code concurrency} virtual users each keep one request in flight through the
+ * asynchronous {@link HttpClient}, drawing requests from a {@link Workload}. The catalog is seeded over the API
+ * first; requests completing during the warm-up are not recorded. Results per endpoint are written as JSON.
+ *
+ * <pre>
+ * LoadTest --workload=read-heavy --beers=1000 --concurrency=32 --duration=30 --warmup=5 --seed=42 \
+ *     --report=build/reports/load/read-heavy.json -- java -jar app.jar
+ * LoadTest --workload=hot-sku --url=http://localhost:8080
+ * </pre>
+ */
+public class LoadTest {
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final int SEED_CONCURRENCY = 32;
+
+    private final HttpClient httpClient;
+    private final String beerApiUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    LoadTest(String baseUrl, HttpClient.Version version) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.beerApiUrl = baseUrl + ApplicationProcess.BEER_API_URL_PATH;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String workload = "read-heavy";
+        int beers = 1000;
+        int concurrency = 32;
+        int duration = 30;
+        int warmup = 5;
+        long seed = 42;
+        HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+        String url = null;
+        Path report = null;
+        List<String> command = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--")) {
+                command.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                break;
+            } else if (arg.startsWith("--workload=")) {
+                workload = value(arg);
+            } else if (arg.startsWith("--beers=")) {
+                beers = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--concurrency=")) {
+                concurrency = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--duration=")) {
+                duration = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--http=")) {
+                version = value(arg).equals("2") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+            } else if (arg.startsWith("--url=")) {
+                url = value(arg);
+            } else if (arg.startsWith("--report=")) {
+                report = Path.of(value(arg));
+            }
+        }
+
+        if (url == null && command.isEmpty()) {
+            throw new IllegalArgumentException("Pass --url=<running instance> or the command that starts the application after '--'");
+        }
+
+        String json;
+        if (url != null) {
+            json = new LoadTest(url, version).run(workload, beers, concurrency, duration, warmup, seed);
+        } else {
+            try (ApplicationProcess application = ApplicationProcess.start(command)) {
+                application.awaitFirstSuccessfulRequest();
+                json = new LoadTest(application.getBaseUrl(), version).run(workload, beers, concurrency, duration, warmup, seed);
+            }
+        }
+
+        System.out.println(json);
+        if (report != null) {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, json);
+        }
+    }
+
+    String run(String workloadName, int beers, int concurrency, int durationSeconds, int warmupSeconds, long seed) throws Exception {
+        Workload workload = Workload.of(workloadName, beerApiUrl, seed(beers));
+
+        long startedAt = System.nanoTime();
+        long recordFrom = startedAt + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long stopAt = recordFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CountDownLatch users = new CountDownLatch(concurrency);
+
+        for (int user = 0; user < concurrency; user++) {
+            loop(workload, new Random(seed + user), recordFrom, stopAt, users);
+        }
+
+        if (!users.await(durationSeconds + warmupSeconds + 60L, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Virtual users did not finish after the run");
+        }
+
+        return toJson(workloadName, beers, concurrency, durationSeconds, seed);
+    }
+
+    /**
+     * Creates {@code beers} beers named after their index, spread across every {@code BeerType}, and returns
+     * their ids by index.
+     */
+    List<Long> seed(int beers) throws Exception {
+        Long[] ids = new Long[beers];
+        Semaphore inFlight = new Semaphore(SEED_CONCURRENCY);
+        List<CompletableFuture<Void>> requests = new ArrayList<>(beers);
+
+        for (int i = 0; i < beers; i++) {
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(beerApiUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Workload.beerJson(Workload.beerName(index), index, 250)))
+                    .build();
+
+            inFlight.acquire();
+            requests.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        Matcher id = ID.matcher(response.body());
+                        if (response.statusCode() >= 300 || !id.find()) {
+                            throw new IllegalStateException("Seeding beer " + index + " failed with status "
+                                    + response.statusCode() + ": " + response.body());
+                        }
+                        ids[index] = Long.parseLong(id.group(1));
+                    })
+                    .whenComplete((ignored, error) -> inFlight.release()));
+        }
+
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        return Collections.unmodifiableList(Arrays.asList(ids));
+    }
+
+    private void loop(Workload workload, Random random, long recordFrom, long stopAt, CountDownLatch users) {
+        long sentAt = System.nanoTime();
+        if (sentAt - stopAt >= 0) {
+            users.countDown();
+            return;
+        }
+
+        Workload.Request request = workload.next(random);
+        httpClient.sendAsync(request.getHttpRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (sentAt - recordFrom >= 0) {
+                        stats.computeIfAbsent(request.getEndpoint(), endpoint -> new EndpointStats())
+                                .record(System.nanoTime() - sentAt, error == null ? response.statusCode() : -1);
+                    }
+                    loop(workload, random, recordFrom, stopAt, users);
+                });
+    }
+
+    private String toJson(String workload, int beers, int concurrency, int durationSeconds, long seed) {
+        Map<String, EndpointStats> endpoints = new TreeMap<>(stats);
+        EndpointStats total = new EndpointStats();
+        endpoints.values().forEach(total::add);
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"workload\": \"").append(workload).append("\",\n");
+        json.append(String.format(Locale.ROOT, "  \"beers\": %d,\n  \"concurrency\": %d,\n  \"durationSeconds\": %d,\n  \"seed\": %d,\n",
+                beers, concurrency, durationSeconds, seed));
+        json.append("  \"total\": ").append(total.toJson(durationSeconds)).append(",\n");
+        json.append("  \"endpoints\": {");
+
+        boolean first = true;
+        for (Map.Entry<String, EndpointStats> endpoint : endpoints.entrySet()) {
+            json.append(first ? "\n" : ",\n")
+                    .append("    \"").append(endpoint.getKey()).append("\": ")
+                    .append(endpoint.getValue().toJson(durationSeconds));
+            first = false;
+        }
+        json.append("\n  }\n}\n");
+
+        return json.toString();
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
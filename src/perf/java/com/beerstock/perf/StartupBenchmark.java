@@ -0,0 +1,143 @@
+package com.beerstock.perf;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the application several times and measures the time until the first successful
+ * {@code GET /api/v1/beer} and the resident set size of the process at that moment.
+ *
+ * <pre>
+ * StartupBenchmark --label=jvm --runs=5 --report=build/reports/startup/jvm.json -- java -jar app.jar
+ * </pre>
+ *
+ * With {@code --baseline=<report>} the medians are also compared against an earlier report, e.g. native vs JVM.
+ */
+public class StartupBenchmark {
+    private static final Pattern MEDIAN = Pattern.compile("\"(\\w+)\": \\{\"min\": -?\\d+, \"median\": (-?\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String label = "jvm";
+        int runs = 5;
+        Path report = null;
+        Path baseline = null;
+        List<String> command = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--")) {
+                command.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                break;
+            } else if (args[i].startsWith("--label=")) {
+                label = args[i].substring("--label=".length());
+            } else if (args[i].startsWith("--runs=")) {
+                runs = Integer.parseInt(args[i].substring("--runs=".length()));
+            } else if (args[i].startsWith("--report=")) {
+                report = Path.of(args[i].substring("--report=".length()));
+            } else if (args[i].startsWith("--baseline=")) {
+                baseline = Path.of(args[i].substring("--baseline=".length()));
+            }
+        }
+
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("Missing the command that starts the application after '--'");
+        }
+
+        List<Sample> samples = new StartupBenchmark().run(command, runs);
+        String json = toJson(label, samples);
+
+        System.out.println(json);
+        if (report != null) {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, json);
+        }
+        if (baseline != null && Files.exists(baseline)) {
+            System.out.println(compare(label, json, Files.readString(baseline)));
+        }
+    }
+
+    static String compare(String label, String current, String baseline) {
+        StringBuilder comparison = new StringBuilder(label).append(" vs baseline:");
+        Matcher currentMedians = MEDIAN.matcher(current);
+        Matcher baselineMedians = MEDIAN.matcher(baseline);
+
+        while (currentMedians.find() && baselineMedians.find()) {
+            long currentMedian = Long.parseLong(currentMedians.group(2));
+            long baselineMedian = Long.parseLong(baselineMedians.group(2));
+
+            comparison.append(String.format(Locale.ROOT, " %s median %d -> %d (%.2fx)",
+                    currentMedians.group(1), baselineMedian, currentMedian,
+                    baselineMedian == 0 ? 0.0 : (double) currentMedian / baselineMedian));
+        }
+
+        return comparison.toString();
+    }
+
+    List<Sample> run(List<String> command, int runs) throws Exception {
+        List<Sample> samples = new ArrayList<>(runs);
+
+        for (int run = 0; run < runs; run++) {
+            samples.add(measure(command));
+        }
+
+        return samples;
+    }
+
+    private Sample measure(List<String> command) throws Exception {
+        try (ApplicationProcess application = ApplicationProcess.start(command)) {
+            long timeToFirstRequestMillis = application.awaitFirstSuccessfulRequest();
+
+            return new Sample(timeToFirstRequestMillis, application.residentSetSizeKb());
+        }
+    }
+
+    static String toJson(String label, List<Sample> samples) {
+        long[] times = samples.stream().mapToLong(Sample::getTimeToFirstRequestMillis).sorted().toArray();
+        long[] rss = samples.stream().mapToLong(Sample::getResidentSetSizeKb).sorted().toArray();
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"label\": \"").append(label).append("\",\n");
+        json.append("  \"runs\": ").append(samples.size()).append(",\n");
+        json.append("  \"timeToFirstRequestMillis\": ").append(summary(times)).append(",\n");
+        json.append("  \"residentSetSizeKb\": ").append(summary(rss)).append(",\n");
+        json.append("  \"samples\": [");
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append(String.format(Locale.ROOT, "    {\"timeToFirstRequestMillis\": %d, \"residentSetSizeKb\": %d}",
+                            sample.getTimeToFirstRequestMillis(), sample.getResidentSetSizeKb()));
+        }
+        json.append("\n  ]\n}\n");
+
+        return json.toString();
+    }
+
+    private static String summary(long[] sorted) {
+        return String.format(Locale.ROOT, "{\"min\": %d, \"median\": %d, \"max\": %d}",
+                sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+    }
+
+    static class Sample {
+        private final long timeToFirstRequestMillis;
+        private final long residentSetSizeKb;
+
+        Sample(long timeToFirstRequestMillis, long residentSetSizeKb) {
+            this.timeToFirstRequestMillis = timeToFirstRequestMillis;
+            this.residentSetSizeKb = residentSetSizeKb;
+        }
+
+        long getTimeToFirstRequestMillis() {
+            return timeToFirstRequestMillis;
+        }
+
+        long getResidentSetSizeKb() {
+            return residentSetSizeKb;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.beerstock.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Seeds a running build of the application and reports, for {@code GET /api/v1/beer}, the negotiated protocol
+ * and the body size on the wire for each content type with and without gzip.
+ *
+ * <pre>
+ * WireSizeReport --beers=1000 --report=build/reports/serialization/wire.json -- java -jar app.jar
+ * </pre>
+ */
+public class WireSizeReport {
+    private static final String[] CONTENT_TYPES = {"application/json", "application/x-jackson-smile", "application/cbor"};
+    private static final String[] ENCODINGS = {"identity", "gzip"};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .build();
+    private final String beerApiUrl;
+
+    WireSizeReport(String baseUrl) {
+        this.beerApiUrl = baseUrl + ApplicationProcess.BEER_API_URL_PATH;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int beers = 1000;
+        Path report = null;
+        List<String> command = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--")) {
+                command.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                break;
+            } else if (args[i].startsWith("--beers=")) {
+                beers = Integer.parseInt(args[i].substring("--beers=".length()));
+            } else if (args[i].startsWith("--report=")) {
+                report = Path.of(args[i].substring("--report=".length()));
+            }
+        }
+
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("Missing the command that starts the application after '--'");
+        }
+
+        String json;
+        try (ApplicationProcess application = ApplicationProcess.start(command)) {
+            application.awaitFirstSuccessfulRequest();
+            WireSizeReport wireSizeReport = new WireSizeReport(application.getBaseUrl());
+            wireSizeReport.seed(beers);
+            json = wireSizeReport.run(beers);
+        }
+
+        System.out.println(json);
+        if (report != null) {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, json);
+        }
+    }
+
+    void seed(int beers) throws Exception {
+        for (int i = 0; i < beers; i++) {
+            String beer = String.format(Locale.ROOT,
+                    "{\"name\":\"Beer %d\",\"brand\":\"Brand %d\",\"maxQuantity\":500,\"quantity\":%d,\"type\":\"LARGER\"}",
+                    i, i % 50, i % 500);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(beerApiUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(beer))
+                    .build();
+
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("Seeding beer " + i + " failed with status " + response.statusCode());
+            }
+        }
+    }
+
+    String run(int beers) throws Exception {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"beers\": ").append(beers).append(",\n");
+        json.append("  \"responses\": [");
+
+        boolean first = true;
+        for (String contentType : CONTENT_TYPES) {
+            for (String encoding : ENCODINGS) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(beerApiUrl))
+                        .header("Accept", contentType)
+                        .header("Accept-Encoding", encoding)
+                        .GET()
+                        .build();
+                // the client does not decompress, so the body length is the size on the wire
+                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+                json.append(first ? "\n" : ",\n")
+                        .append(String.format(Locale.ROOT,
+                                "    {\"accept\": \"%s\", \"acceptEncoding\": \"%s\", \"status\": %d, \"protocol\": \"%s\", "
+                                        + "\"contentEncoding\": \"%s\", \"bytes\": %d}",
+                                contentType, encoding, response.statusCode(), response.version(),
+                                response.headers().firstValue("Content-Encoding").orElse("identity"),
+                                response.body().length));
+                first = false;
+            }
+        }
+        json.append("\n  ]\n}\n");
+
+        return json.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package com.beerstock.perf;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A traffic mix against {@code /api/v1/beer} and {@code /api/v1/beer-catalog}. Each virtual user draws its requests from its own seeded
+ * {@link Random}, so a run with the same seed, catalog and concurrency replays the same request sequences.
+ */
+public abstract class Workload {
+    static final String[] BEER_TYPES = {"LARGER", "MALZBIER", "WITBIER", "WEISS", "ALE", "IPA", "STOUT"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    protected final String beerApiUrl;
+    protected final String catalogApiUrl;
+    protected final List<Long> beerIds;
+
+    protected Workload(String beerApiUrl, List<Long> beerIds) {
+        this.beerApiUrl = beerApiUrl;
+        this.catalogApiUrl = beerApiUrl.substring(0, beerApiUrl.length() - ApplicationProcess.BEER_API_URL_PATH.length())
+                + ApplicationProcess.CATALOG_API_URL_PATH;
+        this.beerIds = beerIds;
+    }
+
+    public static Workload of(String name, String beerApiUrl, List<Long> beerIds) {
+        switch (name) {
+            case "read-heavy":
+                return new ReadHeavy(beerApiUrl, beerIds);
+            case "hot-sku":
+                return new HotSkuStorm(beerApiUrl, beerIds, false);
+            case "hot-sku-lean":
+                return new HotSkuStorm(beerApiUrl, beerIds, true);
+            case "bulk-create":
+                return new BulkCreate(beerApiUrl, beerIds);
+            default:
+                throw new IllegalArgumentException("Unknown workload " + name + ", expected read-heavy, hot-sku, hot-sku-lean or bulk-create");
+        }
+    }
+
+    public abstract Request next(Random random);
+
+    static String beerName(long index) {
+        return "Load Beer " + index;
+    }
+
+    static String beerJson(String name, int index, int quantity) {
+        return String.format(Locale.ROOT,
+                "{\"name\":\"%s\",\"brand\":\"Brand %d\",\"maxQuantity\":500,\"quantity\":%d,\"type\":\"%s\"}",
+                name, index % 40, quantity, BEER_TYPES[index % BEER_TYPES.length]);
+    }
+
+    protected Request get(String endpoint, String path) {
+        return getUrl(endpoint, beerApiUrl + path);
+    }
+
+    protected Request getCatalog(String endpoint, String path) {
+        return getUrl(endpoint, catalogApiUrl + path);
+    }
+
+    private Request getUrl(String endpoint, String url) {
+        return new Request(endpoint, HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build());
+    }
+
+    protected Request send(String endpoint, String method, String path, String body) {
+        return new Request(endpoint, HttpRequest.newBuilder(URI.create(beerApiUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    /**
+     * Index skewed towards the start of the catalog, so a few beers get most of the traffic.
+     */
+    protected static int skewed(Random random, int size) {
+        return (int) (size * Math.pow(random.nextDouble(), 3));
+    }
+
+    public static class Request {
+        private final String endpoint;
+        private final HttpRequest httpRequest;
+
+        Request(String endpoint, HttpRequest httpRequest) {
+            this.endpoint = endpoint;
+            this.httpRequest = httpRequest;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public HttpRequest getHttpRequest() {
+            return httpRequest;
+        }
+    }
+
+    /**
+     * Catalog browsing: lookups by name dominate, with suggestions, full listings, stats and a trickle of
+     * stock movements.
+     */
+    static class ReadHeavy extends Workload {
+        ReadHeavy(String beerApiUrl, List<Long> beerIds) {
+            super(beerApiUrl, beerIds);
+        }
+
+        @Override
+        public Request next(Random random) {
+            int index = skewed(random, beerIds.size());
+            int roll = random.nextInt(100);
+
+            if (roll < 60) {
+                return get("GET /api/v1/beer/{beerName}", "/" + beerName(index).replace(" ", "%20"));
+            } else if (roll < 80) {
+                return getCatalog("GET /api/v1/beer-catalog/suggest", "/suggest?q=" + "beer%20" + index / 10 + "&limit=10");
+            } else if (roll < 88) {
+                return get("GET /api/v1/beer", "");
+            } else if (roll < 95) {
+                return getCatalog("GET /api/v1/beer-catalog/stats", "/stats");
+            } else if (roll < 98) {
+                return send("PATCH /api/v1/beer/{id}/increment", "PATCH", "/" + beerIds.get(index) + "/increment", "{\"quantity\":1}");
+            }
+            return send("PATCH /api/v1/beer/{id}/decrement", "PATCH", "/" + beerIds.get(index) + "/decrement", "{\"quantity\":1}");
+        }
+    }
+
+    /**
+     * Most traffic decrements the same handful of beers; replenishment keeps their stock from running dry. The
+     * lean variant sends the quantity as a query parameter, which takes the endpoints that skip loading and
+     * mapping the beer.
+     */
+    static class HotSkuStorm extends Workload {
+        private static final int HOT_SKUS = 5;
+
+        private final boolean lean;
+
+        HotSkuStorm(String beerApiUrl, List<Long> beerIds, boolean lean) {
+            super(beerApiUrl, beerIds);
+            this.lean = lean;
+        }
+
+        @Override
+        public Request next(Random random) {
+            Long id = beerIds.get(random.nextInt(Math.min(HOT_SKUS, beerIds.size())));
+            int roll = random.nextInt(100);
+
+            if (roll < 85) {
+                return stock(id, "decrement", 1);
+            } else if (roll < 95) {
+                return stock(id, "increment", 5);
+            }
+            return get("GET /api/v1/beer/{beerName}", "/" + beerName(beerIds.indexOf(id)).replace(" ", "%20"));
+        }
+
+        private Request stock(Long id, String operation, int quantity) {
+            String endpoint = "PATCH /api/v1/beer/{id}/" + operation;
+            if (lean) {
+                return send(endpoint + "?quantity", "PATCH", "/" + id + "/" + operation + "?quantity=" + quantity, "");
+            }
+            return send(endpoint, "PATCH", "/" + id + "/" + operation, "{\"quantity\":" + quantity + "}");
+        }
+    }
+
+    /**
+     * Registers new beers as fast as possible, spread over every {@code BeerType}.
+     */
+    static class BulkCreate extends Workload {
+        private final AtomicLong created = new AtomicLong();
+
+        BulkCreate(String beerApiUrl, List<Long> beerIds) {
+            super(beerApiUrl, beerIds);
+        }
+
+        @Override
+        public Request next(Random random) {
+            long index = created.getAndIncrement();
+            return send("POST /api/v1/beer", "POST", "", beerJson("Bulk Beer " + index, (int) index, random.nextInt(500)));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.beerstock.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrequencySketchTest {
+
+    @Test
+    void whenKeyIsIncrementedThenItsFrequencyIsCountedUpToTheCounterLimit() {
+        // given
+        FrequencySketch sketch = new FrequencySketch(512);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(hash(1));
+        }
+
+        // then
+        assertThat(sketch.frequency(hash(1))).isEqualTo(5);
+        assertThat(sketch.frequency(hash(2))).isZero();
+
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(hash(1));
+        }
+        assertThat(sketch.frequency(hash(1))).isEqualTo(15);
+    }
+
+    @Test
+    void whenSampleSizeIsReachedThenFrequenciesAreHalved() {
+        // given
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(hash(1));
+        }
+
+        // when enough other accesses go through to reach 10 * capacity increments
+        for (int key = 100; key < 100 + 10 * 16; key++) {
+            sketch.increment(hash(key));
+        }
+
+        // then
+        assertThat(sketch.frequency(hash(1))).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void whenThreadsIncrementConcurrentlyThenNoIncrementIsLost() throws Exception {
+        // given
+        FrequencySketch sketch = new FrequencySketch(512);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 3; i++) {
+                    sketch.increment(hash(1));
+                    for (int key = 2; key < 200; key++) {
+                        sketch.increment(hash(key));
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(sketch.frequency(hash(1))).isEqualTo(12);
+    }
+
+    private static long hash(long key) {
+        return key * 0x9e3779b97f4a7c15L;
+    }
+}
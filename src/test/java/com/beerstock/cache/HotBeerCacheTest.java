@@ -0,0 +1,141 @@
+package com.beerstock.cache;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.enums.BeerType;
+import com.beerstock.event.BeerChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotBeerCacheTest {
+    private static final String TENANT = "default";
+    private static final int CAPACITY = 4;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HotBeerCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        HotBeerCacheProperties properties = new HotBeerCacheProperties();
+        properties.setCapacity(CAPACITY);
+        properties.setVictimSamples(CAPACITY * 4);
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new HotBeerCache(properties, meterRegistry);
+    }
+
+    @Test
+    void whenBeerIsAdmittedThenLookupsByNameAreHits() {
+        // when
+        assertThat(underTest.get(TENANT, "Beer 1")).isNull();
+        underTest.admit(TENANT, beer(1), underTest.stamp());
+
+        // then
+        assertThat(underTest.get(TENANT, "Beer 1")).isEqualTo(beer(1));
+        assertThat(underTest.get("other", "Beer 1")).isNull();
+        assertThat(underTest.hitRatio()).isEqualTo(1.0 / 3);
+        assertThat(meterRegistry.get("beerstock.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(underTest.sizeInBytes()).isPositive();
+    }
+
+    @Test
+    void whenCacheIsFullThenABeerAccessedOnceDoesNotReplaceTheHotSet() {
+        // given a full cache of beers accessed several times
+        for (long id = 1; id <= CAPACITY; id++) {
+            underTest.admit(TENANT, beer(id), underTest.stamp());
+            for (int i = 0; i < 10; i++) {
+                underTest.get(TENANT, "Beer " + id);
+            }
+        }
+
+        // when a scan offers many beers once each
+        for (long id = 100; id < 200; id++) {
+            underTest.admit(TENANT, beer(id), underTest.stamp());
+        }
+
+        // then
+        assertThat(underTest.size()).isEqualTo(CAPACITY);
+        for (long id = 1; id <= CAPACITY; id++) {
+            assertThat(underTest.get(TENANT, "Beer " + id)).isNotNull();
+        }
+    }
+
+    @Test
+    void whenABeerBecomesHotterThanTheCachedOnesThenItIsAdmitted() {
+        // given
+        for (long id = 1; id <= CAPACITY; id++) {
+            underTest.admit(TENANT, beer(id), underTest.stamp());
+        }
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            underTest.recordAccess(TENANT, 42L);
+        }
+        underTest.admit(TENANT, beer(42), underTest.stamp());
+
+        // then
+        assertThat(underTest.get(TENANT, "Beer 42")).isEqualTo(beer(42));
+        assertThat(underTest.size()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void whenBeerChangedAfterItWasLoadedThenItIsNotAdmitted() {
+        // given
+        long stamp = underTest.stamp();
+
+        // when
+        underTest.onBeerChanged(BeerChangedEvent.stockChanged(1L, 20, 10));
+        underTest.admit(TENANT, beer(1), stamp);
+
+        // then
+        assertThat(underTest.get(TENANT, "Beer 1")).isNull();
+    }
+
+    @Test
+    void whenCommittedChangesArriveThenCachedBeersAreEvicted() {
+        // given
+        underTest.admit(TENANT, beer(1), underTest.stamp());
+        underTest.admit(TENANT, beer(2), underTest.stamp());
+        underTest.admit(TENANT, beer(3), underTest.stamp());
+
+        // when
+        underTest.onBeerChanged(BeerChangedEvent.stockChanged(1L, 30, 20));
+        underTest.onBeerChanged(BeerChangedEvent.deleted(beer(2)));
+
+        // then
+        assertThat(underTest.get(TENANT, "Beer 1")).isNull();
+        assertThat(underTest.get(TENANT, "Beer 2")).isNull();
+        assertThat(underTest.get(TENANT, "Beer 3")).isNotNull();
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    void whenStockChangesArriveOutOfOrderThenTheOlderQuantityIsNotCached() {
+        // given
+        underTest.admit(TENANT, beer(1), underTest.stamp());
+
+        // when the listener of the later commit runs first
+        underTest.onBeerChanged(BeerChangedEvent.stockChanged(1L, 40, 30));
+        long stamp = underTest.stamp();
+        underTest.onBeerChanged(BeerChangedEvent.stockChanged(1L, 30, 20));
+
+        // then
+        assertThat(underTest.get(TENANT, "Beer 1")).isNull();
+        underTest.admit(TENANT, beer(1), stamp);
+        assertThat(underTest.get(TENANT, "Beer 1")).isNull();
+        underTest.admit(TENANT, beer(1), underTest.stamp());
+        assertThat(underTest.get(TENANT, "Beer 1")).isNotNull();
+    }
+
+    private static BeerDTO beer(long id) {
+        return BeerDTO.builder()
+                .id(id)
+                .name("Beer " + id)
+                .brand("Ambev")
+                .maxQuantity(50)
+                .quantity(10)
+                .type(BeerType.LARGER)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.beerstock.catalog;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.enums.BeerType;
+import com.beerstock.utils.BeerUtils;
+import com.beerstock.utils.JsonConvertionUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeerCatalogSnapshotTest {
+
+    private final BeerCatalogSnapshot underTest = new BeerCatalogSnapshot();
+
+    @Test
+    void whenBeersAreUpsertedOutOfOrderThenViewShouldBeSortedById() {
+        // given
+        underTest.upsert(beer(3L, "Skol", "Ambev"));
+        underTest.upsert(beer(1L, "Brahma", "Ambev"));
+        underTest.upsert(beer(2L, "Heineken", "Heineken"));
+
+        // when
+        BeerCatalogSnapshot.View view = underTest.view();
+
+        // then
+        assertThat(view.size()).isEqualTo(3);
+        assertThat(new long[]{view.id(0), view.id(1), view.id(2)}).containsExactly(1L, 2L, 3L);
+        assertThat(view.brandCount()).isEqualTo(2);
+        assertThat(view.brandId(0)).isEqualTo(view.brandId(2));
+    }
+
+    @Test
+    void whenBeerIsUpsertedTwiceThenItShouldBeReplaced() {
+        // given
+        underTest.upsert(beer(1L, "Brahma", "Ambev"));
+
+        // when
+        underTest.upsert(beer(1L, "Brahma Duplo Malte", "Ambev"));
+
+        // then
+        assertThat(underTest.size()).isEqualTo(1);
+        assertThat(underTest.view().name(0)).isEqualTo("Brahma Duplo Malte");
+    }
+
+    @Test
+    void whenQuantityIsUpdatedThenOnlyThatRowShouldChange() {
+        // given
+        underTest.upsert(beer(1L, "Brahma", "Ambev"));
+        underTest.upsert(beer(2L, "Skol", "Ambev"));
+
+        // when
+        boolean updated = underTest.updateQuantity(2L, 42);
+
+        // then
+        assertThat(updated).isTrue();
+        assertThat(underTest.view().quantity(0)).isEqualTo(10);
+        assertThat(underTest.view().quantity(1)).isEqualTo(42);
+        assertThat(underTest.updateQuantity(3L, 1)).isFalse();
+    }
+
+    @Test
+    void whenBeerIsRemovedThenRemainingRowsShouldBeCompacted() {
+        // given
+        underTest.upsert(beer(1L, "Brahma", "Ambev"));
+        underTest.upsert(beer(2L, "Skol", "Ambev"));
+        underTest.upsert(beer(3L, "Heineken", "Heineken"));
+
+        // when
+        underTest.remove(2L);
+
+        // then
+        BeerCatalogSnapshot.View view = underTest.view();
+        assertThat(view.size()).isEqualTo(2);
+        assertThat(view.name(0)).isEqualTo("Brahma");
+        assertThat(view.name(1)).isEqualTo("Heineken");
+    }
+
+    @Test
+    void whenNothingChangesThenReadersShouldShareTheSameView() {
+        // given
+        underTest.upsert(beer(1L, "Brahma", "Ambev"));
+        BeerCatalogSnapshot.View view = underTest.view();
+
+        // then
+        assertThat(underTest.view()).isSameAs(view);
+
+        // when
+        underTest.updateQuantity(1L, 42);
+
+        // then
+        assertThat(underTest.view()).isNotSameAs(view);
+        assertThat(underTest.view().quantity(0)).isEqualTo(42);
+        assertThat(view.quantity(0)).isEqualTo(beer(1L, "Brahma", "Ambev").getQuantity());
+    }
+
+    @Test
+    void whenBeersChangeDuringALoadThenTheLoadedRowsShouldNotOverwriteThem() {
+        // given
+        underTest.startLoad();
+        underTest.upsert(beer(1L, "Brahma Duplo Malte", "Ambev"));
+        underTest.remove(2L);
+
+        // when the scan reads the rows as they were before
+        underTest.load(beer(1L, "Brahma", "Ambev"));
+        underTest.load(beer(2L, "Skol", "Ambev"));
+        underTest.load(beer(3L, "Heineken", "Heineken"));
+        underTest.finishLoad();
+
+        // then
+        BeerCatalogSnapshot.View view = underTest.view();
+        assertThat(view.size()).isEqualTo(2);
+        assertThat(view.name(0)).isEqualTo("Brahma Duplo Malte");
+        assertThat(view.name(1)).isEqualTo("Heineken");
+    }
+
+    @Test
+    void whenSnapshotIsWrittenAsJsonThenItShouldMatchTheDTOSerialization() throws IOException {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        underTest.upsert(beerDTO);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        BeerCatalogJsonWriter.write(underTest.view(), outputStream);
+
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                .isEqualTo(JsonConvertionUtils.asJsonString(List.of(beerDTO)));
+    }
+
+    private BeerDTO beer(Long id, String name, String brand) {
+        return BeerDTO.builder()
+                .id(id)
+                .name(name)
+                .brand(brand)
+                .maxQuantity(50)
+                .quantity(10)
+                .type(BeerType.LARGER)
+                .build();
+    }
+}
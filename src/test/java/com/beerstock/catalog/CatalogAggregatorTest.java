@@ -0,0 +1,63 @@
+package com.beerstock.catalog;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.BeerFillLevelDTO;
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class CatalogAggregatorTest {
+
+    @Test
+    void whenStatsAreComputedThenTotalsRatiosAndNearestMaxShouldBeReturned() {
+        // given
+        BeerCatalogSnapshot snapshot = new BeerCatalogSnapshot();
+        snapshot.upsert(beer(1L, "Brahma", "Ambev", 10, 50, BeerType.LARGER));
+        snapshot.upsert(beer(2L, "Skol", "Ambev", 40, 50, BeerType.LARGER));
+        snapshot.upsert(beer(3L, "Guinness", "Diageo", 90, 100, BeerType.STOUT));
+
+        // when
+        BeerStatsDTO stats = CatalogAggregator.sequential(snapshot.view(), 2);
+
+        // then
+        assertThat(stats.getStockByType().get(BeerType.LARGER)).isEqualTo(50L);
+        assertThat(stats.getStockByType().get(BeerType.STOUT)).isEqualTo(90L);
+        assertThat(stats.getStockByType().get(BeerType.IPA)).isEqualTo(0L);
+        assertThat(stats.getFillRatioByBrand().get("Ambev")).isCloseTo(0.5, within(1e-9));
+        assertThat(stats.getFillRatioByBrand().get("Diageo")).isCloseTo(0.9, within(1e-9));
+        assertThat(stats.getNearestMax()).extracting(BeerFillLevelDTO::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void whenCatalogIsLargerThanALeafThenParallelAndSequentialResultsShouldMatch() {
+        // given
+        BeerCatalogSnapshot snapshot = new BeerCatalogSnapshot();
+        BeerType[] types = BeerType.values();
+        for (long id = 1; id <= 50_000; id++) {
+            snapshot.upsert(beer(id, "Beer " + id, "Brand " + (id % 37), (int) (id % 101), 100, types[(int) (id % types.length)]));
+        }
+
+        // when
+        BeerStatsDTO sequential = CatalogAggregator.sequential(snapshot.view(), 10);
+        BeerStatsDTO parallel = CatalogAggregator.parallel(snapshot.view(), 10, ForkJoinPool.commonPool());
+
+        // then
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    private BeerDTO beer(Long id, String name, String brand, int quantity, int maxQuantity, BeerType type) {
+        return BeerDTO.builder()
+                .id(id)
+                .name(name)
+                .brand(brand)
+                .quantity(quantity)
+                .maxQuantity(maxQuantity)
+                .type(type)
+                .build();
+    }
+}
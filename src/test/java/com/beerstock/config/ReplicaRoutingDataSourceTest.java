@@ -0,0 +1,159 @@
+package com.beerstock.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingDataSourceTest {
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = createDatabase("routing-primary", "primary");
+        replica = createDatabase("routing-replica", "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    void whenTransactionIsReadOnlyThenShouldRouteToReplica() {
+        // given
+        ReplicaRoutingDataSource underTest = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), 0);
+
+        // when
+        beginTransaction(true);
+
+        // then
+        assertThat(currentNode(underTest)).isEqualTo("replica");
+    }
+
+    @Test
+    void whenTransactionIsReadWriteThenShouldRouteToPrimary() {
+        // given
+        ReplicaRoutingDataSource underTest = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), 0);
+
+        // when
+        beginTransaction(false);
+
+        // then
+        assertThat(currentNode(underTest)).isEqualTo("primary");
+    }
+
+    @Test
+    void whenReplicaIsUnhealthyThenReadsShouldFallBackToPrimary() {
+        // given
+        DataSource unreachableReplica = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", "sa");
+        ReplicaRoutingDataSource underTest = new ReplicaRoutingDataSource(primary, Map.of("replica-0", unreachableReplica), 0);
+
+        // when
+        underTest.checkReplicas(1);
+        beginTransaction(true);
+
+        // then
+        assertThat(underTest.getHealthyReplicas()).isEmpty();
+        assertThat(currentNode(underTest)).isEqualTo("primary");
+    }
+
+    @Test
+    void whenReadFollowsAWriteInsideTheStickinessWindowThenShouldRouteToPrimary() {
+        // given
+        ReplicaRoutingDataSource underTest = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), 60_000);
+
+        // when
+        beginTransaction(false);
+        currentNode(underTest);
+        beginTransaction(true);
+
+        // then
+        assertThat(currentNode(underTest)).isEqualTo("primary");
+    }
+
+    @Test
+    void whenAnotherWriterWroteInsideTheStickinessWindowThenReadsShouldStillRouteToReplica() throws Exception {
+        // given
+        ReplicaRoutingDataSource underTest = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), 60_000);
+
+        // when
+        Thread writer = new Thread(() -> {
+            beginTransaction(false);
+            currentNode(underTest);
+        });
+        writer.start();
+        writer.join();
+        beginTransaction(true);
+
+        // then
+        assertThat(currentNode(underTest)).isEqualTo("replica");
+    }
+
+    @Test
+    void whenAClientWritesThenItsNextRequestShouldReadFromPrimary() throws Exception {
+        // given
+        ReplicaRoutingDataSource underTest = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), 60_000);
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(60_000);
+
+        // when the client writes
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest(), writeResponse, null);
+        beginTransaction(false);
+        currentNode(underTest);
+        interceptor.afterCompletion(new MockHttpServletRequest(), writeResponse, null, null);
+        Cookie lastWrite = writeResponse.getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+
+        // then
+        assertThat(lastWrite).isNotNull();
+        assertThat(lastWrite.getMaxAge()).isEqualTo(60);
+
+        // when the same client reads
+        MockHttpServletRequest readRequest = new MockHttpServletRequest();
+        readRequest.setCookies(lastWrite);
+        interceptor.preHandle(readRequest, new MockHttpServletResponse(), null);
+        beginTransaction(true);
+
+        // then
+        assertThat(currentNode(underTest)).isEqualTo("primary");
+
+        // when another client reads
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+        // then
+        assertThat(currentNode(underTest)).isEqualTo("replica");
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private String currentNode(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private DataSource createDatabase(String databaseName, String nodeName) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1", "sa", "sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", nodeName);
+
+        return dataSource;
+    }
+}
@@ -1,14 +1,24 @@
 package com.beerstock.controller;
 
+import com.beerstock.catalog.BeerCatalogSnapshotService;
 import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.BeerFillLevelDTO;
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.dto.BeerSuggestionDTO;
 import com.beerstock.dto.QuantityDTO;
+import com.beerstock.dto.StockLevelDTO;
 import com.beerstock.exception.BeerAlreadyRegisteredException;
 import com.beerstock.exception.BeerNotFoundException;
 import com.beerstock.exception.BeerStockExceededException;
 import com.beerstock.exception.BeerStockLessThanZero;
+import com.beerstock.exception.StockWriteTimeoutException;
+import com.beerstock.enums.BeerType;
 import com.beerstock.service.BeerService;
+import com.beerstock.service.StockWritePipeline;
 import com.beerstock.utils.BeerUtils;
 import com.beerstock.utils.JsonConvertionUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,35 +29,55 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 public class BeerControllerTest {
     private static final String BEER_API_URL_PATH = "/api/v1/beer";
+    private static final String CATALOG_API_URL_PATH = "/api/v1/beer-catalog";
     private static final long VALID_BEER_ID = 1L;
     private static final long INVALID_BEER_ID = 2L;
     private static final String BEER_API_SUBPATH_INCREMENT_URL = "/increment";
     private static final String BEER_API_SUBPATH_DECREMENT_URL = "/decrement";
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
 
     private MockMvc mockMvc;
 
     @Mock
     private BeerService beerService;
 
+    @Mock
+    private BeerCatalogSnapshotService beerCatalogSnapshotService;
+
     @InjectMocks
     private BeerController beerController;
 
+    @InjectMocks
+    private BeerCatalogController beerCatalogController;
+
+    @InjectMocks
+    private BeerSuggestionController beerSuggestionController;
+
+    @InjectMocks
+    private BeerStatsController beerStatsController;
+
     @BeforeEach
     void setUp(){
-        mockMvc = MockMvcBuilders.standaloneSetup(beerController)
+        mockMvc = MockMvcBuilders.standaloneSetup(beerController, beerCatalogController, beerSuggestionController, beerStatsController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .setViewResolvers((viewName, locale) -> new MappingJackson2JsonView())
                 .build();
@@ -119,6 +149,24 @@ public class BeerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenGETIsCalledWithTheNameOfACatalogRouteThenReturnThatBeer() throws Exception {
+        for (String routeName : List.of("snapshot", "suggest", "stats")) {
+            // given
+            BeerDTO beerDTO = BeerUtils.createFakeDTO();
+            beerDTO.setName(routeName);
+
+            // when
+            Mockito.when(beerService.findByName(routeName)).thenReturn(beerDTO);
+
+            // then
+            mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + routeName)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name", is(routeName)));
+        }
+    }
+
     @Test
     void whenGETListBeersIsCalledThenOkStatusIsReturned() throws Exception {
         // given
@@ -138,6 +186,64 @@ public class BeerControllerTest {
                 .andExpect(jsonPath("$[0].type", is(beerDTO.getType().toString())));
     }
 
+    @Test
+    void whenGETListBeersIsCalledAcceptingSmileThenBinaryBodyIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+        // when
+        Mockito.when(beerService.listAll()).thenReturn(Collections.singletonList(beerDTO));
+
+        // then
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(smileMapper.readValue(body, BeerDTO[].class)).containsExactly(beerDTO);
+    }
+
+    @Test
+    void whenGETSuggestIsCalledThenRankedSuggestionsAreReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        BeerSuggestionDTO suggestion = new BeerSuggestionDTO(beerDTO.getId(), beerDTO.getName(), beerDTO.getBrand(), 2.0);
+
+        // when
+        Mockito.when(beerService.suggest("brah", 10)).thenReturn(Collections.singletonList(suggestion));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(CATALOG_API_URL_PATH + "/suggest")
+                        .param("q", "brah")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is(beerDTO.getName())))
+                .andExpect(jsonPath("$[0].brand", is(beerDTO.getBrand())));
+    }
+
+    @Test
+    void whenGETStatsIsCalledThenCatalogStatsAreReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        BeerFillLevelDTO fillLevel = new BeerFillLevelDTO(beerDTO.getId(), beerDTO.getName(), beerDTO.getBrand(),
+                beerDTO.getQuantity(), beerDTO.getMaxQuantity(), 0.2);
+        BeerStatsDTO stats = new BeerStatsDTO(Map.of(BeerType.LARGER, 10L), Map.of(beerDTO.getBrand(), 0.2),
+                Collections.singletonList(fillLevel));
+
+        // when
+        Mockito.when(beerService.stats()).thenReturn(stats);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(CATALOG_API_URL_PATH + "/stats")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockByType.LARGER", is(10)))
+                .andExpect(jsonPath("$.fillRatioByBrand.Ambev", is(0.2)))
+                .andExpect(jsonPath("$.nearestMax[0].name", is(beerDTO.getName())));
+    }
+
     @Test
     void whenDELETEIsCalledWithValidBeerIdThenReturnDeletedBeer() throws Exception {
         //given
@@ -216,9 +322,13 @@ public class BeerControllerTest {
         Mockito.when(beerService.increment(expectedUpdatedBeerDTO.getId(), quantityDTO.getQuantity())).thenReturn(expectedUpdatedBeerDTO);
 
         //then
-        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + expectedUpdatedBeerDTO.getId() + BEER_API_SUBPATH_INCREMENT_URL)
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + expectedUpdatedBeerDTO.getId() + BEER_API_SUBPATH_INCREMENT_URL)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(JsonConvertionUtils.asJsonString(quantityDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(expectedUpdatedBeerDTO.getId().intValue())))
                 .andExpect(jsonPath("$.name", is(expectedUpdatedBeerDTO.getName())))
@@ -273,9 +383,13 @@ public class BeerControllerTest {
         Mockito.when(beerService.decrement(expectedUpdatedBeerDTO.getId(), quantityDTO.getQuantity())).thenReturn(expectedUpdatedBeerDTO);
 
         //then
-        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + expectedUpdatedBeerDTO.getId() + BEER_API_SUBPATH_DECREMENT_URL)
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + expectedUpdatedBeerDTO.getId() + BEER_API_SUBPATH_DECREMENT_URL)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(JsonConvertionUtils.asJsonString(quantityDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(expectedUpdatedBeerDTO.getId().intValue())))
                 .andExpect(jsonPath("$.name", is(expectedUpdatedBeerDTO.getName())))
@@ -318,4 +432,102 @@ public class BeerControllerTest {
                         .content(JsonConvertionUtils.asJsonString(quantityDTO)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void whenPipelinedDecrementFailsThenReturnBadRequestStatusOnceItCompletes() throws Exception {
+        //given
+        BeerDTO expectedUpdatedBeerDTO = BeerUtils.createFakeDTO();
+        QuantityDTO quantityDTO = new QuantityDTO(55);
+        StockWritePipeline stockWritePipeline = Mockito.mock(StockWritePipeline.class);
+        ReflectionTestUtils.setField(beerController, "stockWritePipeline", stockWritePipeline);
+
+        //when
+        CompletableFuture<BeerDTO> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new BeerStockLessThanZero(expectedUpdatedBeerDTO.getId()));
+        Mockito.when(stockWritePipeline.decrement(expectedUpdatedBeerDTO.getId(), quantityDTO.getQuantity())).thenReturn(failed);
+
+        //then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + expectedUpdatedBeerDTO.getId() + BEER_API_SUBPATH_DECREMENT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonConvertionUtils.asJsonString(quantityDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPipelinedIncrementTimesOutThenReturnServiceUnavailableStatus() throws Exception {
+        //given
+        BeerDTO expectedUpdatedBeerDTO = BeerUtils.createFakeDTO();
+        QuantityDTO quantityDTO = new QuantityDTO(10);
+        StockWritePipeline stockWritePipeline = Mockito.mock(StockWritePipeline.class);
+        ReflectionTestUtils.setField(beerController, "stockWritePipeline", stockWritePipeline);
+
+        //when
+        CompletableFuture<BeerDTO> timedOut = new CompletableFuture<>();
+        timedOut.completeExceptionally(new StockWriteTimeoutException(expectedUpdatedBeerDTO.getId()));
+        Mockito.when(stockWritePipeline.increment(expectedUpdatedBeerDTO.getId(), quantityDTO.getQuantity())).thenReturn(timedOut);
+
+        //then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + expectedUpdatedBeerDTO.getId() + BEER_API_SUBPATH_INCREMENT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonConvertionUtils.asJsonString(quantityDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void whenIncrementIsCalledWithQuantityParameterThenReturnStockLevel() throws Exception {
+        //given
+        StockLevelDTO expectedStockLevel = new StockLevelDTO(VALID_BEER_ID, 20);
+
+        //when
+        Mockito.when(beerService.incrementStock(VALID_BEER_ID, 10)).thenReturn(expectedStockLevel);
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                        .param("quantity", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is((int) VALID_BEER_ID)))
+                .andExpect(jsonPath("$.quantity", is(20)))
+                .andExpect(jsonPath("$.name").doesNotExist());
+    }
+
+    @Test
+    void whenIncrementIsCalledWithQuantityParameterAboveMaxThenReturnBadRequestStatus() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                        .param("quantity", String.valueOf(QuantityDTO.MAX_QUANTITY + 1)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenIncrementIsCalledWithAZeroQuantityThenBothVariantsReturnBadRequestStatus() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonConvertionUtils.asJsonString(new QuantityDTO(0))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                        .param("quantity", "0"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenDecrementIsCalledWithQuantityParameterAndInvalidBeerIdThenReturnNotFoundStatus() throws Exception {
+        //when
+        Mockito.when(beerService.decrementStock(INVALID_BEER_ID, 10)).thenThrow(BeerNotFoundException.class);
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + INVALID_BEER_ID + BEER_API_SUBPATH_DECREMENT_URL)
+                        .param("quantity", "10"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,81 @@
+package com.beerstock.history;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.StockHistoryDTO;
+import com.beerstock.dto.StockHistoryPointDTO;
+import com.beerstock.service.BeerService;
+import com.beerstock.utils.BeerUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:history-test",
+        "beerstock.history.enabled=true",
+        "beerstock.history.rollup-interval=3600000",
+        "beerstock.history.prune-interval=3600000",
+        "beerstock.history.settle-window=0"})
+public class StockHistoryRollupTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private StockHistoryService stockHistoryService;
+
+    @Autowired
+    private StockHistoryRollup stockHistoryRollup;
+
+    @Autowired
+    private StockSampleRepository stockSampleRepository;
+
+    @Test
+    void whenStockChangesThenHistoryIsServedFromSamplesAndThenFromRolledUpBuckets() throws Exception {
+        // given
+        Instant from = Instant.now().minus(Duration.ofHours(1));
+        Instant to = Instant.now().plus(Duration.ofHours(1));
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        beerDTO.setId(null);
+        beerDTO.setName("History Brahma");
+        BeerDTO created = beerService.createBeer(beerDTO);
+        beerService.increment(created.getId(), 5);
+        beerService.decrement(created.getId(), 2);
+
+        // when nothing is rolled up yet, minute steps come from the raw samples
+        StockHistoryDTO fromSamples = stockHistoryService.history(created.getId(), from, to, Duration.ofMinutes(1));
+
+        // then
+        assertThat(fromSamples.getResolution()).isEqualTo("MINUTE");
+        assertTotals(fromSamples.getPoints(), 10, 15, 13);
+
+        // when everything is rolled up to days and the raw samples are pruned
+        Instant later = Instant.now().plus(Duration.ofDays(2));
+        assertThat(stockHistoryRollup.rollUp(later)).isGreaterThanOrEqualTo(3);
+        stockHistoryRollup.prune(later);
+
+        // then
+        assertThat(stockSampleRepository.count()).isZero();
+        StockHistoryDTO fromMinutes = stockHistoryService.history(created.getId(), from, to, Duration.ofMinutes(1));
+        assertTotals(fromMinutes.getPoints(), 10, 15, 13);
+
+        StockHistoryDTO fromDays = stockHistoryService.history(created.getId(), from, to, Duration.ofDays(1));
+        assertThat(fromDays.getResolution()).isEqualTo("DAY");
+        assertThat(fromDays.getPoints()).hasSize(1);
+        assertTotals(fromDays.getPoints(), 10, 15, 13);
+    }
+
+    private static void assertTotals(List<StockHistoryPointDTO> points, int min, int max, int last) {
+        assertThat(points).isNotEmpty();
+        assertThat(points.stream().mapToInt(StockHistoryPointDTO::getMinQuantity).min().getAsInt()).isEqualTo(min);
+        assertThat(points.stream().mapToInt(StockHistoryPointDTO::getMaxQuantity).max().getAsInt()).isEqualTo(max);
+        assertThat(points.get(points.size() - 1).getLastQuantity()).isEqualTo(last);
+        assertThat(points.stream().mapToLong(StockHistoryPointDTO::getStockIn).sum()).isEqualTo(15);
+        assertThat(points.stream().mapToLong(StockHistoryPointDTO::getStockOut).sum()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.beerstock.history;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StockHistoryServiceTest {
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    private StockHistoryService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new StockHistoryService();
+        ReflectionTestUtils.setField(underTest, "properties", new HistoryProperties());
+    }
+
+    @Test
+    void whenStepIsGivenThenTheCoarsestResolutionNoWiderThanTheStepIsUsed() {
+        Instant from = NOW.minus(Duration.ofHours(6));
+
+        assertThat(underTest.resolutionFor(Duration.ofSeconds(10), from, NOW)).isEqualTo(HistoryResolution.RAW);
+        assertThat(underTest.resolutionFor(Duration.ofMinutes(15), from, NOW)).isEqualTo(HistoryResolution.MINUTE);
+        assertThat(underTest.resolutionFor(Duration.ofHours(6), from, NOW)).isEqualTo(HistoryResolution.HOUR);
+        assertThat(underTest.resolutionFor(Duration.ofDays(7), from, NOW)).isEqualTo(HistoryResolution.DAY);
+    }
+
+    @Test
+    void whenRangeStartsBeforeTheRetentionOfTheResolutionThenACoarserOneIsUsed() {
+        assertThat(underTest.resolutionFor(Duration.ofMinutes(1), NOW.minus(Duration.ofDays(3)), NOW))
+                .isEqualTo(HistoryResolution.MINUTE);
+        assertThat(underTest.resolutionFor(Duration.ofMinutes(1), NOW.minus(Duration.ofDays(30)), NOW))
+                .isEqualTo(HistoryResolution.HOUR);
+        assertThat(underTest.resolutionFor(Duration.ofMinutes(1), NOW.minus(Duration.ofDays(365)), NOW))
+                .isEqualTo(HistoryResolution.DAY);
+    }
+
+    @Test
+    void whenInstantIsTruncatedThenBucketsAreAlignedToUtc() {
+        Instant instant = Instant.parse("2024-06-01T12:34:56.789Z");
+
+        assertThat(HistoryResolution.MINUTE.truncate(instant)).isEqualTo(Instant.parse("2024-06-01T12:34:00Z"));
+        assertThat(HistoryResolution.HOUR.truncate(instant)).isEqualTo(Instant.parse("2024-06-01T12:00:00Z"));
+        assertThat(HistoryResolution.DAY.truncate(instant)).isEqualTo(Instant.parse("2024-06-01T00:00:00Z"));
+    }
+}
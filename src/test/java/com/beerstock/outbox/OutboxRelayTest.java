@@ -0,0 +1,196 @@
+package com.beerstock.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private OutboxEventRepository eventRepository;
+
+    @Mock
+    private OutboxCursorRepository cursorRepository;
+
+    @Mock
+    private OutboxGapRepository gapRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryBrokerSink sink = new InMemoryBrokerSink();
+
+    private OutboxRelay underTest;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(10);
+        properties.setSettleWindow(5000);
+        underTest = new OutboxRelay(eventRepository, cursorRepository, gapRepository, sink, transactionManager, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void whenEventsAreContiguousThenTheWholeBatchIsPublishedAndTheCursorMoves() throws Exception {
+        // when
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW), event(2, 8L, NOW), event(3, 7L, NOW)));
+
+        // then
+        assertThat(underTest.relayBatch(NOW)).isEqualTo(3);
+        assertThat(sink.getPartition(7L)).extracting(OutboxEvent::getId).containsExactly(1L, 3L);
+        assertThat(underTest.getCursor()).isEqualTo(3);
+
+        ArgumentCaptor<OutboxCursor> cursor = ArgumentCaptor.forClass(OutboxCursor.class);
+        Mockito.verify(cursorRepository).save(cursor.capture());
+        assertThat(cursor.getValue().getLastEventId()).isEqualTo(3L);
+    }
+
+    @Test
+    void whenAnIdIsMissingWithinTheSettleWindowThenPublishingStopsBeforeTheGap() throws Exception {
+        // when
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW), event(3, 7L, NOW.minusSeconds(1))));
+
+        // then
+        assertThat(underTest.relayBatch(NOW)).isEqualTo(1);
+        assertThat(sink.getEvents()).extracting(OutboxEvent::getId).containsExactly(1L);
+        assertThat(underTest.getCursor()).isEqualTo(1);
+    }
+
+    @Test
+    void whenAGapIsOlderThanTheSettleWindowThenItIsSkipped() throws Exception {
+        // when
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW.minusSeconds(10)), event(3, 7L, NOW.minusSeconds(10))));
+
+        // then
+        assertThat(underTest.relayBatch(NOW)).isEqualTo(2);
+        assertThat(underTest.getCursor()).isEqualTo(3);
+    }
+
+    @Test
+    void whenASkippedIdCommitsLateThenItIsPublishedOnTheNextRun() throws Exception {
+        // given
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW.minusSeconds(10)), event(3, 7L, NOW.minusSeconds(10))));
+        underTest.relayBatch(NOW);
+
+        // when
+        Mockito.when(eventRepository.findByIdInOrderByIdAsc(List.of(2L)))
+                .thenReturn(List.of(event(2, 7L, NOW.minusSeconds(20))));
+
+        // then
+        assertThat(underTest.relayLate(NOW.plusSeconds(1))).isEqualTo(1);
+        assertThat(sink.getPartition(7L)).extracting(OutboxEvent::getId).containsExactly(1L, 3L, 2L);
+        assertThat(underTest.relayLate(NOW.plusSeconds(2))).isZero();
+        Mockito.verify(eventRepository).findByIdInOrderByIdAsc(Mockito.anyCollection());
+    }
+
+    @Test
+    void whenASkippedIdNeverCommitsThenItIsAbandonedAfterTheGapTimeout() throws Exception {
+        // given
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW.minusSeconds(10)), event(4, 7L, NOW.minusSeconds(10))));
+        underTest.relayBatch(NOW);
+
+        // when
+        Mockito.when(eventRepository.findByIdInOrderByIdAsc(List.of(2L, 3L))).thenReturn(List.of());
+
+        // then
+        assertThat(underTest.relayLate(NOW.plusSeconds(1))).isZero();
+        assertThat(underTest.relayLate(NOW.plusSeconds(301))).isZero();
+        Mockito.verify(eventRepository, Mockito.times(1)).findByIdInOrderByIdAsc(Mockito.anyCollection());
+        assertThat(sink.getEvents()).extracting(OutboxEvent::getId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void whenAGapIsSkippedThenItIsPersistedWithTheCursor() throws Exception {
+        // when
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW.minusSeconds(10)), event(3, 8L, NOW.minusSeconds(10))));
+        underTest.relayBatch(NOW);
+
+        // then
+        Mockito.verify(gapRepository).saveAll(List.of(new OutboxGap(2L, NOW.plusMillis(300000))));
+    }
+
+    @Test
+    void whenTheRelayRestartsThenItKeepsWaitingForThePersistedGaps() throws Exception {
+        // given a cursor past a gap that was skipped before the restart
+        Mockito.when(cursorRepository.findById(OutboxRelay.CURSOR_NAME)).thenReturn(Optional.of(new OutboxCursor(OutboxRelay.CURSOR_NAME, 3L)));
+        Mockito.when(gapRepository.findAll()).thenReturn(List.of(new OutboxGap(2L, NOW.plusSeconds(300))));
+
+        // when
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(3L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of());
+        Mockito.when(eventRepository.findByIdInOrderByIdAsc(List.of(2L)))
+                .thenReturn(List.of(event(2, 7L, NOW.minusSeconds(20))));
+        underTest.relayBatch(NOW);
+
+        // then
+        assertThat(sink.getEvents()).extracting(OutboxEvent::getId).containsExactly(2L);
+        Mockito.verify(gapRepository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    void whenALateEventIsFollowedByAnotherEventOfItsBeerThenTheLateOneIsPublishedFirst() throws Exception {
+        // given
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW.minusSeconds(10)), event(3, 8L, NOW.minusSeconds(10))));
+        underTest.relayBatch(NOW);
+
+        // when id 2 commits, and then another event of its beer
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(3L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(4, 7L, NOW)));
+        Mockito.when(eventRepository.findByIdInOrderByIdAsc(List.of(2L)))
+                .thenReturn(List.of(event(2, 7L, NOW.minusSeconds(20))));
+
+        // then
+        assertThat(underTest.relayBatch(NOW.plusSeconds(1))).isEqualTo(1);
+        assertThat(sink.getPartition(7L)).extracting(OutboxEvent::getId).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void whenTheSinkFailsThenTheCursorStaysSoTheBatchIsRedelivered() throws Exception {
+        // given
+        OutboxSink failingSink = Mockito.mock(OutboxSink.class);
+        OutboxProperties properties = new OutboxProperties();
+        underTest = new OutboxRelay(eventRepository, cursorRepository, gapRepository, failingSink, transactionManager, properties, new SimpleMeterRegistry());
+
+        // when
+        Mockito.when(eventRepository.findByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1, 7L, NOW)));
+        Mockito.doThrow(new IllegalStateException("broker down")).when(failingSink).publish(Mockito.anyList());
+
+        // then
+        assertThatThrownBy(() -> underTest.relayBatch(NOW)).isInstanceOf(IllegalStateException.class);
+        assertThat(underTest.getCursor()).isZero();
+        Mockito.verify(cursorRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    private static OutboxEvent event(long id, Long beerId, Instant createdAt) {
+        return OutboxEvent.builder()
+                .id(id)
+                .beerId(beerId)
+                .changeType("STOCK_CHANGED")
+                .payload("{}")
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.beerstock.outbox;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.service.BeerService;
+import com.beerstock.utils.BeerUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-test",
+        "beerstock.outbox.enabled=true",
+        "beerstock.outbox.sink=memory",
+        "beerstock.outbox.poll-interval=3600000",
+        "beerstock.outbox.settle-window=0"})
+public class OutboxWriterTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryBrokerSink sink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void whenBeerIsChangedThenItsEventsAreRelayedInOrder() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        beerDTO.setId(null);
+        beerDTO.setName("Outbox Brahma");
+
+        // when
+        BeerDTO created = beerService.createBeer(beerDTO);
+        beerService.increment(created.getId(), 5);
+        beerService.decrement(created.getId(), 2);
+        outboxRelay.relay();
+
+        // then
+        assertThat(sink.getPartition(created.getId()))
+                .extracting(OutboxEvent::getChangeType)
+                .containsExactly("CREATED", "STOCK_CHANGED", "STOCK_CHANGED");
+        assertThat(sink.getPartition(created.getId()).get(2).getPayload()).contains("\"delta\":-2");
+    }
+
+    @Test
+    void whenTheMutatingTransactionRollsBackThenNoOutboxEventIsWritten() {
+        // given
+        long eventsBefore = outboxEventRepository.count();
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        beerDTO.setId(null);
+        beerDTO.setName("Rolled back Brahma");
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                beerService.createBeer(beerDTO);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(outboxEventRepository.count()).isEqualTo(eventsBefore);
+    }
+}
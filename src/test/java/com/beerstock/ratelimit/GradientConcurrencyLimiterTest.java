@@ -0,0 +1,73 @@
+package com.beerstock.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GradientConcurrencyLimiterTest {
+
+    @Test
+    void whenLimitIsReachedThenFurtherRequestsShouldBeRejected() {
+        // given
+        GradientConcurrencyLimiter underTest = new GradientConcurrencyLimiter(10, 2, 100, 0.2, 1.5);
+
+        // when
+        int admittedWrites = admit(underTest, 0.8);
+
+        // then
+        assertThat(admittedWrites).isEqualTo(8);
+        assertThat(underTest.tryAcquire(1.0)).isTrue();
+        assertThat(underTest.tryAcquire(1.0)).isTrue();
+        assertThat(underTest.tryAcquire(1.0)).isFalse();
+    }
+
+    @Test
+    void whenLatencyIsStableUnderFullLoadThenLimitShouldGrow() {
+        // given
+        GradientConcurrencyLimiter underTest = new GradientConcurrencyLimiter(10, 2, 100, 0.2, 1.5);
+
+        // when
+        for (int round = 0; round < 20; round++) {
+            runRound(underTest, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // then
+        assertThat(underTest.getLimit()).isGreaterThan(10);
+        assertThat(underTest.getInFlight()).isZero();
+    }
+
+    @Test
+    void whenLatencyRisesThenLimitShouldShrink() {
+        // given
+        GradientConcurrencyLimiter underTest = new GradientConcurrencyLimiter(10, 2, 100, 0.2, 1.5);
+        for (int round = 0; round < 20; round++) {
+            runRound(underTest, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int limitBeforeSlowdown = underTest.getLimit();
+
+        // when
+        for (int round = 0; round < 5; round++) {
+            runRound(underTest, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        // then
+        assertThat(underTest.getLimit()).isLessThan(limitBeforeSlowdown);
+    }
+
+    private static int admit(GradientConcurrencyLimiter limiter, double share) {
+        int admitted = 0;
+        while (limiter.tryAcquire(share)) {
+            admitted++;
+        }
+        return admitted;
+    }
+
+    private static void runRound(GradientConcurrencyLimiter limiter, long rttNanos) {
+        int admitted = admit(limiter, 1.0);
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
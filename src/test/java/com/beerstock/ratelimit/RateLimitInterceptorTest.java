@@ -0,0 +1,141 @@
+package com.beerstock.ratelimit;
+
+import com.beerstock.controller.BeerController;
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.QuantityDTO;
+import com.beerstock.service.BeerService;
+import com.beerstock.utils.BeerUtils;
+import com.beerstock.utils.JsonConvertionUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitInterceptorTest {
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private BeerService beerService;
+
+    @InjectMocks
+    private BeerController beerController;
+
+    @Test
+    void whenClientExceedsItsEndpointLimitThenTooManyRequestsWithRetryAfterIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        MockMvc mockMvc = createMockMvc(Map.of());
+
+        // when
+        Mockito.when(beerService.increment(beerDTO.getId(), 10)).thenReturn(beerDTO);
+
+        // then
+        mockMvc.perform(increment(beerDTO.getId(), "integration-a")).andExpect(status().isOk());
+        mockMvc.perform(increment(beerDTO.getId(), "integration-a"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(increment(beerDTO.getId(), "integration-b")).andExpect(status().isOk());
+    }
+
+    @Test
+    void whenClientSendsUnknownKeysThenTheyShareTheBucketOfItsAddress() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        MockMvc mockMvc = createMockMvc(Map.of());
+
+        // when
+        Mockito.when(beerService.increment(beerDTO.getId(), 10)).thenReturn(beerDTO);
+
+        // then
+        mockMvc.perform(increment(beerDTO.getId(), "rotated-1")).andExpect(status().isOk());
+        mockMvc.perform(increment(beerDTO.getId(), "rotated-2"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(increment(beerDTO.getId(), "integration-a")).andExpect(status().isOk());
+    }
+
+    @Test
+    void whenReadsAreSentThenTheyShouldNotBeRateLimited() throws Exception {
+        // given
+        MockMvc mockMvc = createMockMvc(Map.of());
+
+        // when
+        Mockito.when(beerService.listAll()).thenReturn(Collections.emptyList());
+
+        // then
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH).header("X-Api-Key", "integration-a"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void whenConnectionPoolIsSaturatedThenWritesAreShedButReadsAreServed() throws Exception {
+        // given
+        HikariDataSource dataSource = Mockito.mock(HikariDataSource.class);
+        HikariPoolMXBean pool = Mockito.mock(HikariPoolMXBean.class);
+        MockMvc mockMvc = createMockMvc(Map.of("dataSource", dataSource));
+
+        // when
+        Mockito.when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        Mockito.when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+        Mockito.when(beerService.listAll()).thenReturn(Collections.emptyList());
+
+        // then
+        mockMvc.perform(increment(1L, "integration-a"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)).andExpect(status().isOk());
+        Mockito.verify(beerService).listAll();
+        Mockito.verifyNoMoreInteractions(beerService);
+    }
+
+    private MockMvc createMockMvc(Map<String, Object> dataSources) {
+        RateLimitProperties.Endpoint endpoint = new RateLimitProperties.Endpoint();
+        endpoint.setMethod("PATCH");
+        endpoint.setPattern(BEER_API_URL_PATH + "/{id}/increment");
+        endpoint.setCapacity(1);
+        endpoint.setRefillPerSecond(1);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.getEndpoints().add(endpoint);
+        properties.setApiKeys(Set.of("integration-a", "integration-b"));
+
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties,
+                new StaticListableBeanFactory(dataSources).getBeanProvider(DataSource.class), meterRegistry);
+
+        return MockMvcBuilders.standaloneSetup(beerController)
+                .addInterceptors(interceptor)
+                .build();
+    }
+
+    private static MockHttpServletRequestBuilder increment(Long id, String apiKey) {
+        return MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + id + "/increment")
+                .header("X-Api-Key", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConvertionUtils.asJsonString(new QuantityDTO(10)));
+    }
+}
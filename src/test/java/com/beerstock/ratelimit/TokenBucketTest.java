@@ -0,0 +1,69 @@
+package com.beerstock.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void whenCapacityIsUsedUpThenTheNextTokenShouldWaitForTheRefill() {
+        // given
+        TokenBucket underTest = new TokenBucket(3, 1, 0);
+
+        // then
+        assertThat(underTest.tryAcquire(0)).isZero();
+        assertThat(underTest.tryAcquire(0)).isZero();
+        assertThat(underTest.tryAcquire(0)).isZero();
+        assertThat(underTest.tryAcquire(0)).isEqualTo(SECOND);
+        assertThat(underTest.tryAcquire(SECOND)).isZero();
+        assertThat(underTest.tryAcquire(SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void whenBucketIsIdleForItsRefillTimeThenItShouldBeFullAgain() {
+        // given
+        TokenBucket underTest = new TokenBucket(2, 1, 0);
+
+        // when
+        underTest.tryAcquire(0);
+        underTest.tryAcquire(0);
+
+        // then
+        assertThat(underTest.isFull(SECOND)).isFalse();
+        assertThat(underTest.isFull(2 * SECOND)).isTrue();
+    }
+
+    @Test
+    void whenManyThreadsAcquireConcurrentlyThenExactlyTheCapacityShouldBeGranted() throws InterruptedException {
+        // given
+        TokenBucket underTest = new TokenBucket(1000, 0.001, 0);
+        AtomicInteger granted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (underTest.tryAcquire(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(granted.get()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,97 @@
+package com.beerstock.replenishment;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.ReplenishmentPlanDTO;
+import com.beerstock.dto.RestockLineDTO;
+import com.beerstock.dto.RestockOrderDTO;
+import com.beerstock.enums.BeerType;
+import com.beerstock.repository.BeerRepository;
+import com.beerstock.service.BeerService;
+import com.beerstock.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:replenishment-test",
+        "beerstock.replenishment.enabled=true",
+        "beerstock.replenishment.interval=3600000",
+        "beerstock.replenishment.threshold=0.5",
+        "beerstock.replenishment.chunk-size=2",
+        "beerstock.replenishment.parallelism=2",
+        "beerstock.replenishment.export-directory=build/tmp/replenishment-test"})
+public class ReplenishmentPlannerTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private ReplenishmentPlanner replenishmentPlanner;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void whenStockFallsBelowTheThresholdThenRestockOrdersAreGroupedByBrand() throws Exception {
+        // given
+        BeerDTO brahma = beerService.createBeer(beer("Brahma", "Ambev", 10));
+        BeerDTO skol = beerService.createBeer(beer("Skol", "Ambev", 40));
+        BeerDTO heineken = beerService.createBeer(beer("Heineken", "Heineken", 20));
+        beerService.createBeer(beer("Stella", "Ambev", 90));
+        beerService.createBeer(beer("Amstel", "Heineken", 70));
+
+        // when
+        replenishmentPlanner.replan();
+        ReplenishmentPlanDTO plan = replenishmentPlanner.plan(TenantContext.DEFAULT_TENANT);
+
+        // then
+        assertThat(plan.getOrders()).extracting(RestockOrderDTO::getBrand).containsExactly("Ambev", "Heineken");
+        assertThat(plan.getOrders().get(0).getLines()).extracting(RestockLineDTO::getBeerId)
+                .containsExactly(brahma.getId(), skol.getId());
+        assertThat(plan.getOrders().get(0).getTotalQuantity()).isEqualTo(90 + 60);
+        assertThat(plan.getOrders().get(1).getLines()).extracting(RestockLineDTO::getOrderQuantity).containsExactly(80);
+
+        // when stock changes, only the touched beers are re-read
+        beerService.increment(brahma.getId(), 60);
+        beerService.decrement(heineken.getId(), 20);
+        replenishmentPlanner.replan();
+        plan = replenishmentPlanner.plan(TenantContext.DEFAULT_TENANT);
+
+        // then
+        assertThat(plan.getOrders().stream()
+                .flatMap(order -> order.getLines().stream())
+                .collect(Collectors.toMap(RestockLineDTO::getBeerId, RestockLineDTO::getOrderQuantity)))
+                .containsOnlyKeys(skol.getId(), heineken.getId())
+                .containsEntry(heineken.getId(), 100);
+
+        ReplenishmentPlanDTO exported = objectMapper.readValue(
+                Path.of("build/tmp/replenishment-test", TenantContext.DEFAULT_TENANT + ".json").toFile(),
+                ReplenishmentPlanDTO.class);
+        assertThat(exported).isEqualTo(plan);
+    }
+
+    private static BeerDTO beer(String name, String brand, int quantity) {
+        return BeerDTO.builder()
+                .name(name)
+                .brand(brand)
+                .maxQuantity(100)
+                .quantity(quantity)
+                .type(BeerType.LARGER)
+                .build();
+    }
+}
@@ -0,0 +1,228 @@
+package com.beerstock.repository.logstore;
+
+import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AppendLogBeerStoreTest {
+    private static final String TENANT = TenantContext.DEFAULT_TENANT;
+
+    @TempDir
+    Path directory;
+
+    private AppendLogProperties properties;
+
+    private AppendLogBeerStore underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new AppendLogProperties();
+        properties.setDirectory(directory.toString());
+        properties.setInitialSize(4096);
+        properties.setCompactionMinSize(0);
+        underTest = new AppendLogBeerStore(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        underTest.close();
+    }
+
+    @Test
+    void whenBeerIsSavedThenItShouldBeFoundByIdAndName() {
+        // when
+        Beer saved = underTest.save(beer("Brahma", 10));
+
+        // then
+        assertThat(saved.getId()).isEqualTo(1L);
+        assertThat(underTest.findByTenantIdAndId(TENANT, 1L)).contains(saved);
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Brahma")).contains(saved);
+    }
+
+    @Test
+    void whenBeerIsRenamedThenTheOldNameShouldNoLongerBeFound() {
+        // given
+        Beer saved = underTest.save(beer("Brahma", 10));
+
+        // when
+        saved.setName("Brahma Duplo Malte");
+        underTest.save(saved);
+
+        // then
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Brahma")).isEmpty();
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Brahma Duplo Malte")).map(Beer::getId).contains(saved.getId());
+        assertThat(underTest.count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenANewBeerReusesAStoredNameThenTheSaveShouldBeRejected() {
+        // given
+        Beer saved = underTest.save(beer("Brahma", 10));
+
+        // then
+        assertThatThrownBy(() -> underTest.save(beer("Brahma", 20)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Brahma")).contains(saved);
+        assertThat(underTest.count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenBeerIsDeletedThenItShouldNotBeFound() {
+        // given
+        Beer saved = underTest.save(beer("Brahma", 10));
+
+        // when
+        underTest.deleteById(saved.getId());
+
+        // then
+        assertThat(underTest.findByTenantIdAndId(TENANT, saved.getId())).isEmpty();
+        assertThat(underTest.findAllByTenantId(TENANT)).isEmpty();
+        assertThatThrownBy(() -> underTest.deleteById(saved.getId()))
+                .isInstanceOf(EmptyResultDataAccessException.class);
+    }
+
+    @Test
+    void whenTenantsRegisterTheSameNameThenEachShouldOnlySeeItsOwnBeer() throws IOException {
+        // given
+        Beer brahma = underTest.save(beer("Brahma", 10));
+        Beer otherBrahma = beer("Brahma", 3);
+        otherBrahma.setTenantId("bar-chain");
+        underTest.save(otherBrahma);
+
+        // when
+        underTest.close();
+        underTest = new AppendLogBeerStore(properties);
+
+        // then
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Brahma")).contains(brahma);
+        assertThat(underTest.findByTenantIdAndName("bar-chain", "Brahma")).contains(otherBrahma);
+        assertThat(underTest.findByTenantIdAndId("bar-chain", brahma.getId())).isEmpty();
+        assertThat(underTest.findAllByTenantId("bar-chain")).containsExactly(otherBrahma);
+    }
+
+    @Test
+    void whenLogIsReopenedThenTheLatestStateShouldBeRecovered() throws IOException {
+        // given
+        Beer brahma = underTest.save(beer("Brahma", 10));
+        Beer skol = underTest.save(beer("Skol", 5));
+        brahma.setQuantity(20);
+        underTest.save(brahma);
+        underTest.deleteById(skol.getId());
+        underTest.close();
+
+        // when
+        underTest = new AppendLogBeerStore(properties);
+
+        // then
+        assertThat(underTest.findAllByTenantId(TENANT)).containsExactly(brahma);
+        assertThat(underTest.save(beer("Bohemia", 1)).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void whenLogHasATornRecordThenRecoveryShouldStopBeforeIt() throws IOException {
+        // given
+        Beer brahma = underTest.save(beer("Brahma", 10));
+        underTest.save(beer("Skol", 5));
+        long tornOffset = underTest.sizeInBytes() - 3;
+        underTest.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(AppendLogBeerStore.LOG_FILE).toFile(), "rw")) {
+            file.seek(tornOffset);
+            file.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF});
+        }
+
+        // when
+        underTest = new AppendLogBeerStore(properties);
+
+        // then
+        assertThat(underTest.findAllByTenantId(TENANT)).containsExactly(brahma);
+        Beer bohemia = underTest.save(beer("Bohemia", 1));
+        assertThat(underTest.findAllByTenantId(TENANT)).containsExactly(brahma, bohemia);
+    }
+
+    @Test
+    void whenLogIsMostlyGarbageThenCompactionShouldShrinkItAndKeepTheData() throws IOException {
+        // given
+        Beer brahma = underTest.save(beer("Brahma", 0));
+        for (int i = 1; i <= 200; i++) {
+            brahma.setQuantity(i);
+            underTest.save(brahma);
+        }
+        long before = underTest.sizeInBytes();
+
+        // when
+        underTest.compactIfNeeded();
+
+        // then
+        assertThat(underTest.sizeInBytes()).isLessThan(before / 50);
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Brahma")).map(Beer::getQuantity).contains(200);
+    }
+
+    @Test
+    void whenTheHighestIdWasDeletedBeforeCompactionThenItShouldNotBeReissuedAfterReopening() throws IOException {
+        // given
+        Beer brahma = underTest.save(beer("Brahma", 10));
+        Beer skol = underTest.save(beer("Skol", 5));
+        underTest.deleteById(skol.getId());
+
+        // when
+        underTest.compact();
+        underTest.close();
+        underTest = new AppendLogBeerStore(properties);
+
+        // then
+        assertThat(underTest.findAllByTenantId(TENANT)).containsExactly(brahma);
+        assertThat(underTest.save(beer("Bohemia", 1)).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void whenBeerIsSavedWithoutATenantThenItShouldBelongToTheDefaultTenant() {
+        // given
+        Beer beer = beer("Brahma", 10);
+        beer.setTenantId(null);
+
+        // when
+        Beer saved = underTest.save(beer);
+
+        // then
+        assertThat(saved.getTenantId()).isEqualTo(TenantContext.DEFAULT_TENANT);
+        assertThat(underTest.findAllByTenantId(TenantContext.DEFAULT_TENANT)).containsExactly(saved);
+    }
+
+    @Test
+    void whenLogOutgrowsItsMappingThenItShouldBeRemapped() {
+        // when
+        for (int i = 0; i < 500; i++) {
+            underTest.save(beer("Beer " + i, i));
+        }
+
+        // then
+        assertThat(underTest.sizeInBytes()).isGreaterThan(properties.getInitialSize());
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Beer 0")).isPresent();
+        assertThat(underTest.findByTenantIdAndName(TENANT, "Beer 499")).map(Beer::getQuantity).contains(499);
+    }
+
+    private static Beer beer(String name, int quantity) {
+        return Beer.builder()
+                .tenantId(TENANT)
+                .name(name)
+                .brand("Ambev")
+                .maxQuantity(500)
+                .quantity(quantity)
+                .type(BeerType.LARGER)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.beerstock.rules;
+
+import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.exception.BeerRuleViolationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BeerRuleEngineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenRulesOverlapThenTheMostSpecificLimitWinsAndTheOthersAreInherited() {
+        // given
+        BeerRuleTable table = BeerRuleTable.compile(List.of(
+                BeerRuleProperties.Definition.builder().maxIncrement(50).build(),
+                BeerRuleProperties.Definition.builder().brand("Ambev").maxQuantity(80).incrementMultiple(6).build(),
+                BeerRuleProperties.Definition.builder().type(BeerType.IPA).maxQuantity(40).build(),
+                BeerRuleProperties.Definition.builder().type(BeerType.IPA).brand("Ambev").maxIncrement(12).build()));
+
+        // then
+        assertThat(table.ruleFor(BeerType.IPA, "Ambev")).isEqualTo(new BeerRule(40, 12, null, 6, null));
+        assertThat(table.ruleFor(BeerType.IPA, "Heineken")).isEqualTo(new BeerRule(40, 50, null, null, null));
+        assertThat(table.ruleFor(BeerType.STOUT, "Ambev")).isEqualTo(new BeerRule(80, 50, null, 6, null));
+        assertThat(table.ruleFor(BeerType.STOUT, "Heineken")).isEqualTo(new BeerRule(null, 50, null, null, null));
+        assertThat(table.getDefinitionCount()).isEqualTo(4);
+    }
+
+    @Test
+    void whenTheSameRuleIsDefinedTwiceThenTheLaterLimitsWin() {
+        // given
+        BeerRuleTable table = BeerRuleTable.compile(List.of(
+                BeerRuleProperties.Definition.builder().type(BeerType.ALE).maxQuantity(40).maxDecrement(10).build(),
+                BeerRuleProperties.Definition.builder().type(BeerType.ALE).maxQuantity(30).build()));
+
+        // then
+        assertThat(table.ruleFor(BeerType.ALE, "Ambev")).isEqualTo(new BeerRule(30, null, 10, null, null));
+    }
+
+    @Test
+    void whenALimitIsNotPositiveThenTheDefinitionsShouldBeRejected() {
+        // given
+        BeerRuleEngine engine = new BeerRuleEngine(new BeerRuleProperties());
+        engine.load(List.of(BeerRuleProperties.Definition.builder().type(BeerType.STOUT).decrementMultiple(6).build()));
+
+        // then
+        assertThatThrownBy(() -> engine.load(List.of(BeerRuleProperties.Definition.builder().type(BeerType.STOUT).decrementMultiple(0).build())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Beer rule for type STOUT and brand null has a non-positive decrement-multiple: 0");
+        assertThatThrownBy(() -> engine.checkDecrement(beer(BeerType.STOUT, 20), 5))
+                .isInstanceOf(BeerRuleViolationException.class);
+    }
+
+    @Test
+    void whenBeerBreaksItsRuleThenChecksShouldThrowBeerRuleViolationException() throws BeerRuleViolationException {
+        // given
+        BeerRuleEngine engine = new BeerRuleEngine(new BeerRuleProperties());
+        engine.load(List.of(BeerRuleProperties.Definition.builder()
+                .type(BeerType.STOUT).maxQuantity(30).maxIncrement(12).decrementMultiple(6).build()));
+        Beer stout = beer(BeerType.STOUT, 20);
+
+        // then
+        engine.checkIncrement(stout, 10);
+        engine.checkDecrement(stout, 12);
+        engine.checkIncrement(beer(BeerType.IPA, 20), 40);
+        assertThatThrownBy(() -> engine.checkIncrement(stout, 11))
+                .isInstanceOf(BeerRuleViolationException.class)
+                .hasMessage("Beer with id 1 breaks a stock rule: stock cannot exceed 30.");
+        assertThatThrownBy(() -> engine.checkIncrement(beer(BeerType.STOUT, 0), 13))
+                .hasMessage("Beer with id 1 breaks a stock rule: at most 12 can be added at once.");
+        assertThatThrownBy(() -> engine.checkDecrement(stout, 5))
+                .hasMessage("Beer with id 1 breaks a stock rule: decrements must be multiples of 6.");
+    }
+
+    @Test
+    void whenRulesFileIsModifiedThenItIsReloadedAndABrokenFileKeepsTheCurrentRules() throws Exception {
+        // given
+        Path file = directory.resolve("rules.yml");
+        write(file, "beerstock:\n  rules:\n    definitions:\n      - type: IPA\n        max-quantity: 40\n", 1000);
+        BeerRuleProperties properties = new BeerRuleProperties();
+        properties.setFile(file.toString());
+        BeerRuleEngine engine = new BeerRuleEngine(properties);
+
+        // then
+        assertThat(engine.hasRules()).isTrue();
+        assertThatThrownBy(() -> engine.checkIncrement(beer(BeerType.IPA, 35), 10))
+                .isInstanceOf(BeerRuleViolationException.class);
+
+        // when the file changes
+        write(file, "beerstock:\n  rules:\n    definitions:\n      - type: IPA\n        max-quantity: 50\n", 2000);
+        engine.reloadIfModified();
+
+        // then
+        assertThatCode(() -> engine.checkIncrement(beer(BeerType.IPA, 35), 10)).doesNotThrowAnyException();
+
+        // when the file no longer parses
+        write(file, "beerstock:\n  rules:\n    definitions:\n      - type: PILSEN\n", 3000);
+        engine.reloadIfModified();
+
+        // then
+        assertThatThrownBy(() -> engine.checkIncrement(beer(BeerType.IPA, 45), 10))
+                .hasMessage("Beer with id 1 breaks a stock rule: stock cannot exceed 50.");
+
+        // when the file has a zero multiple
+        write(file, "beerstock:\n  rules:\n    definitions:\n      - type: IPA\n        increment-multiple: 0\n", 4000);
+        engine.reloadIfModified();
+
+        // then
+        assertThatThrownBy(() -> engine.checkIncrement(beer(BeerType.IPA, 45), 10))
+                .hasMessage("Beer with id 1 breaks a stock rule: stock cannot exceed 50.");
+    }
+
+    private static void write(Path file, String content, long lastModified) throws Exception {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+    }
+
+    private static Beer beer(BeerType type, int quantity) {
+        return Beer.builder()
+                .id(1L)
+                .name("Brahma")
+                .brand("Ambev")
+                .maxQuantity(100)
+                .quantity(quantity)
+                .type(type)
+                .build();
+    }
+}
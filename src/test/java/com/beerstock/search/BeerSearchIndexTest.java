@@ -0,0 +1,126 @@
+package com.beerstock.search;
+
+import com.beerstock.dto.BeerSuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeerSearchIndexTest {
+
+    private BeerSearchIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new BeerSearchIndex();
+        underTest.upsert(1L, "Brahma", "Ambev");
+        underTest.upsert(2L, "Brahma Duplo Malte", "Ambev");
+        underTest.upsert(3L, "Heineken", "Heineken");
+        underTest.upsert(4L, "Bohemia", "Ambev");
+        underTest.upsert(5L, "Colorado Appia", "Colorado");
+    }
+
+    @Test
+    void whenPrefixIsGivenThenBeersStartingWithItShouldBeRankedFirst() {
+        // when
+        List<BeerSuggestionDTO> suggestions = underTest.suggest("bra", 10);
+
+        // then
+        assertThat(suggestions).extracting(BeerSuggestionDTO::getId).startsWith(1L, 2L);
+    }
+
+    @Test
+    void whenNameIsMisspelledThenTheBeerShouldStillBeSuggested() {
+        // when
+        List<BeerSuggestionDTO> suggestions = underTest.suggest("hieneken", 10);
+
+        // then
+        assertThat(suggestions).isNotEmpty();
+        assertThat(suggestions.get(0).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void whenBrandIsSearchedThenItsBeersShouldBeSuggested() {
+        // when
+        List<BeerSuggestionDTO> suggestions = underTest.suggest("colorado", 10);
+
+        // then
+        assertThat(suggestions).extracting(BeerSuggestionDTO::getName).contains("Colorado Appia");
+    }
+
+    @Test
+    void whenQueryHasAccentsAndUppercaseThenItShouldBeNormalized() {
+        // when
+        List<BeerSuggestionDTO> suggestions = underTest.suggest("BOH\u00CAMIA", 10);
+
+        // then
+        assertThat(suggestions.get(0).getId()).isEqualTo(4L);
+    }
+
+    @Test
+    void whenBeerIsRemovedThenItShouldNotBeSuggested() {
+        // when
+        underTest.remove(3L);
+
+        // then
+        assertThat(underTest.suggest("heineken", 10)).extracting(BeerSuggestionDTO::getId).doesNotContain(3L);
+        assertThat(underTest.size()).isEqualTo(4);
+    }
+
+    @Test
+    void whenBeerIsRenamedThenOnlyTheNewNameShouldBeSuggested() {
+        // when
+        underTest.upsert(3L, "Amstel", "Heineken");
+
+        // then
+        assertThat(underTest.suggest("amstel", 10)).extracting(BeerSuggestionDTO::getId).containsExactly(3L);
+        assertThat(underTest.suggest("heineken", 10)).extracting(BeerSuggestionDTO::getName).containsExactly("Amstel");
+    }
+
+    @Test
+    void whenBeerIsUpdatedRepeatedlyThenItsSlotShouldBeReused() {
+        // when
+        for (int i = 0; i < 5000; i++) {
+            underTest.upsert(3L, "Heineken " + i, "Heineken");
+        }
+
+        // then
+        assertThat(underTest.size()).isEqualTo(5);
+        assertThat(underTest.slotCount()).isEqualTo(5);
+        assertThat(underTest.suggest("heineken 4999", 1)).extracting(BeerSuggestionDTO::getId).containsExactly(3L);
+    }
+
+    @Test
+    void whenManyBeersMatchThenTheBestShouldBeReturnedInOrder() {
+        // given
+        for (long id = 100; id < 20_100; id++) {
+            underTest.upsert(id, "Ambev Lager " + id, "Ambev");
+        }
+
+        // when
+        List<BeerSuggestionDTO> suggestions = underTest.suggest("ambev lager 20099", 3);
+
+        // then
+        assertThat(suggestions).hasSize(3);
+        assertThat(suggestions.get(0).getId()).isEqualTo(20_099L);
+        assertThat(suggestions).extracting(BeerSuggestionDTO::getScore).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(underTest.suggest("brahma", 3)).extracting(BeerSuggestionDTO::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void whenLimitIsGivenThenAtMostThatManySuggestionsShouldBeReturned() {
+        // when
+        List<BeerSuggestionDTO> suggestions = underTest.suggest("a", 2);
+
+        // then
+        assertThat(suggestions).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void whenEditDistanceExceedsTheBoundThenItShouldStopEarly() {
+        assertThat(BeerSearchIndex.boundedEditDistance("brahma", "barhma", 2)).isEqualTo(2);
+        assertThat(BeerSearchIndex.boundedEditDistance("brahma", "heineken", 2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,30 @@
+package com.beerstock.service;
+
+import com.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the {@link BeerServiceStoreScenarios} against the JPA backend on an in-memory H2 database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:service-jpa-test")
+public class BeerServiceJpaStoreTest extends BeerServiceStoreScenarios {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository.deleteAllInBatch();
+    }
+
+    @Override
+    protected BeerService beerService() {
+        return beerService;
+    }
+}
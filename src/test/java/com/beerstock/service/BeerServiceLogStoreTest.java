@@ -0,0 +1,51 @@
+package com.beerstock.service;
+
+import com.beerstock.repository.logstore.AppendLogBeerStore;
+import com.beerstock.repository.logstore.AppendLogProperties;
+import com.beerstock.rules.BeerRuleEngine;
+import com.beerstock.rules.BeerRuleProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Runs the {@link BeerServiceStoreScenarios} against the append-log backend.
+ */
+public class BeerServiceLogStoreTest extends BeerServiceStoreScenarios {
+
+    @TempDir
+    Path directory;
+
+    private AppendLogBeerStore beerStore;
+
+    private BeerService underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AppendLogProperties properties = new AppendLogProperties();
+        properties.setDirectory(directory.toString());
+        properties.setInitialSize(4096);
+        beerStore = new AppendLogBeerStore(properties);
+
+        underTest = new BeerService();
+        ReflectionTestUtils.setField(underTest, "beerRepository", beerStore);
+        ReflectionTestUtils.setField(underTest, "eventPublisher", Mockito.mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(underTest, "beerRuleEngine", new BeerRuleEngine(new BeerRuleProperties()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        beerStore.close();
+    }
+
+    @Override
+    protected BeerService beerService() {
+        return underTest;
+    }
+}
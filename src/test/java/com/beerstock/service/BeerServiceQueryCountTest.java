@@ -0,0 +1,140 @@
+package com.beerstock.service;
+
+import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.repository.BeerRepository;
+import com.beerstock.tenant.TenantContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements {@link BeerService} issues under the perf profile, to catch N+1 queries and lost
+ * statement batching.
+ */
+@ActiveProfiles("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BeerServiceQueryCountTest {
+    private static final int CATALOG_SIZE = 10;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository.deleteAllInBatch();
+        ids = beerRepository.saveAll(beers("Beer", CATALOG_SIZE)).stream()
+                .map(Beer::getId)
+                .collect(Collectors.toList());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenBeerIsFoundByNameThenOneStatementIsExecuted() throws Exception {
+        // when
+        beerService.findByName("Beer 0");
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenAllBeersAreListedThenOneStatementIsExecuted() {
+        // when
+        beerService.listAll();
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenStockIsIncrementedThenOneSelectAndOneUpdateAreExecuted() throws Exception {
+        // when
+        beerService.increment(ids.get(0), 1);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenStockIsIncrementedThroughTheLeanPathThenNoBeerIsLoaded() throws Exception {
+        // when
+        beerService.incrementStock(ids.get(0), 1);
+
+        // then one conditional update and one scalar read of the new quantity
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void whenStockOfManyBeersChangesInOneTransactionThenUpdatesAreBatched() {
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Long id : ids) {
+                try {
+                    beerService.increment(id, 1);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        // then one select per beer and a single batched update statement
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(CATALOG_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(CATALOG_SIZE + 1);
+    }
+
+    @Test
+    void whenManyBeersAreSavedInOneTransactionThenInsertsAreBatched() {
+        // when
+        beerRepository.saveAll(beers("New beer", 20));
+
+        // then a single batched insert, plus at most two sequence calls for the pooled id allocation
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    private static List<Beer> beers(String prefix, int count) {
+        List<Beer> beers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            beers.add(Beer.builder()
+                    .tenantId(TenantContext.DEFAULT_TENANT)
+                    .name(prefix + " " + i)
+                    .brand("Ambev")
+                    .maxQuantity(500)
+                    .quantity(10)
+                    .type(BeerType.LARGER)
+                    .build());
+        }
+        return beers;
+    }
+}
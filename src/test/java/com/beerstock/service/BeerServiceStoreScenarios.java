@@ -0,0 +1,170 @@
+package com.beerstock.service;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.exception.BeerAlreadyRegisteredException;
+import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.BeerRuleViolationException;
+import com.beerstock.exception.BeerStockExceededException;
+import com.beerstock.exception.BeerStockLessThanZero;
+import com.beerstock.tenant.TenantContext;
+import com.beerstock.utils.BeerUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * {@link BeerService} scenarios run against a real {@link com.beerstock.repository.BeerStore}, so every storage
+ * backend is held to the same behavior. Each backend extends this class and provides a service on an empty store.
+ */
+abstract class BeerServiceStoreScenarios {
+
+    protected abstract BeerService beerService();
+
+    @Test
+    void whenBeerInformedThenItShouldBeCreated() throws BeerAlreadyRegisteredException, BeerNotFoundException {
+        // given
+        BeerDTO beerDTO = newBeer();
+
+        // when
+        BeerDTO returnedValue = beerService().createBeer(beerDTO);
+
+        // then
+        assertThat(returnedValue.getId()).isNotNull();
+        assertThat(returnedValue).usingRecursiveComparison().ignoringFields("id").isEqualTo(beerDTO);
+        assertThat(beerService().findByName(beerDTO.getName())).isEqualTo(returnedValue);
+    }
+
+    @Test
+    void whenBeerInformedThenItShouldThrowBeerAlreadyRegisteredException() throws BeerAlreadyRegisteredException {
+        // given
+        beerService().createBeer(newBeer());
+
+        // then
+        assertThatThrownBy(() -> beerService().createBeer(newBeer()))
+                .isInstanceOf(BeerAlreadyRegisteredException.class);
+    }
+
+    @Test
+    void whenAnotherTenantRegistersTheSameNameThenBothBeersShouldCoexist() throws BeerAlreadyRegisteredException, BeerNotFoundException {
+        // given
+        BeerDTO beerDTO = beerService().createBeer(newBeer());
+        BeerDTO otherTenantDTO = newBeer();
+        otherTenantDTO.setQuantity(3);
+
+        // when
+        TenantContext.setTenantId("bar-chain");
+        try {
+            BeerDTO created = beerService().createBeer(otherTenantDTO);
+
+            // then
+            assertThat(beerService().findByName(beerDTO.getName()).getId()).isEqualTo(created.getId());
+            assertThat(beerService().listAll()).containsExactly(created);
+            assertThatThrownBy(() -> beerService().increment(beerDTO.getId(), 1))
+                    .isInstanceOf(BeerNotFoundException.class);
+        } finally {
+            TenantContext.clear();
+        }
+        assertThat(beerService().findByName(beerDTO.getName())).isEqualTo(beerDTO);
+    }
+
+    @Test
+    void whenNotRegisteredBeerNameIsGivenThenShouldThrowBeerNotFoundException() {
+        assertThatThrownBy(() -> beerService().findByName("Brahma"))
+                .isInstanceOf(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenBeerIsDeletedThenItShouldNoLongerBeListed() throws BeerAlreadyRegisteredException, BeerNotFoundException {
+        // given
+        BeerDTO beerDTO = beerService().createBeer(newBeer());
+
+        // when
+        beerService().deleteById(beerDTO.getId());
+
+        // then
+        assertThat(beerService().listAll()).isEmpty();
+        assertThatThrownBy(() -> beerService().deleteById(beerDTO.getId()))
+                .isInstanceOf(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenIncrementAndDecrementAreCalledThenStockShouldBeUpdated()
+            throws BeerAlreadyRegisteredException, BeerNotFoundException, BeerStockExceededException, BeerStockLessThanZero, BeerRuleViolationException {
+        // given
+        BeerDTO beerDTO = beerService().createBeer(newBeer());
+
+        // when
+        beerService().increment(beerDTO.getId(), 10);
+        BeerDTO decremented = beerService().decrement(beerDTO.getId(), 5);
+
+        // then
+        assertThat(decremented.getQuantity()).isEqualTo(beerDTO.getQuantity() + 5);
+        assertThat(beerService().findByName(beerDTO.getName()).getQuantity()).isEqualTo(beerDTO.getQuantity() + 5);
+    }
+
+    @Test
+    void whenStockIsChangedThroughTheLeanPathThenStockShouldBeUpdated()
+            throws BeerAlreadyRegisteredException, BeerNotFoundException, BeerStockExceededException, BeerStockLessThanZero, BeerRuleViolationException {
+        // given
+        BeerDTO beerDTO = beerService().createBeer(newBeer());
+
+        // when
+        beerService().incrementStock(beerDTO.getId(), 10);
+
+        // then
+        assertThat(beerService().decrementStock(beerDTO.getId(), 5).getQuantity()).isEqualTo(beerDTO.getQuantity() + 5);
+        assertThat(beerService().findByName(beerDTO.getName()).getQuantity()).isEqualTo(beerDTO.getQuantity() + 5);
+        assertThatThrownBy(() -> beerService().incrementStock(beerDTO.getId(), beerDTO.getMaxQuantity()))
+                .isInstanceOf(BeerStockExceededException.class);
+        assertThatThrownBy(() -> beerService().decrementStock(beerDTO.getId() + 1, 1))
+                .isInstanceOf(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenIncrementIsGreaterThanMaxThenShouldThrowException() throws BeerAlreadyRegisteredException {
+        // given
+        BeerDTO beerDTO = beerService().createBeer(newBeer());
+
+        // then
+        assertThatThrownBy(() -> beerService().increment(beerDTO.getId(), beerDTO.getMaxQuantity()))
+                .isInstanceOf(BeerStockExceededException.class);
+    }
+
+    @Test
+    void whenDecrementIsLowerThanZeroThenShouldThrowException() throws BeerAlreadyRegisteredException {
+        // given
+        BeerDTO beerDTO = beerService().createBeer(newBeer());
+
+        // then
+        assertThatThrownBy(() -> beerService().decrement(beerDTO.getId(), beerDTO.getQuantity() + 1))
+                .isInstanceOf(BeerStockLessThanZero.class);
+    }
+
+    @Test
+    void whenBeerIsAboveItsMaxQuantityThenBothDecrementPathsShouldLowerIt()
+            throws BeerAlreadyRegisteredException, BeerNotFoundException, BeerStockLessThanZero, BeerRuleViolationException {
+        // given
+        BeerDTO overMax = newBeer();
+        overMax.setQuantity(80);
+        BeerDTO beerDTO = beerService().createBeer(overMax);
+
+        // when
+        BeerDTO decremented = beerService().decrement(beerDTO.getId(), 5);
+
+        // then
+        assertThat(decremented.getQuantity()).isEqualTo(75);
+        assertThat(beerService().decrementStock(beerDTO.getId(), 5).getQuantity()).isEqualTo(70);
+        assertThatThrownBy(() -> beerService().incrementStock(beerDTO.getId(), 1))
+                .isInstanceOf(BeerStockExceededException.class);
+    }
+
+    /**
+     * The fake beer without its id, which each store assigns on its own.
+     */
+    private static BeerDTO newBeer() {
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        beerDTO.setId(null);
+
+        return beerDTO;
+    }
+}
@@ -1,20 +1,31 @@
 package com.beerstock.service;
 
 import com.beerstock.dto.BeerDTO;
+import com.beerstock.dto.StockLevelDTO;
 import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.event.BeerChangedEvent;
 import com.beerstock.exception.BeerAlreadyRegisteredException;
 import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.BeerRuleViolationException;
 import com.beerstock.exception.BeerStockExceededException;
 import com.beerstock.exception.BeerStockLessThanZero;
 import com.beerstock.mapper.BeerMapper;
 import com.beerstock.repository.BeerRepository;
+import com.beerstock.rules.BeerRuleEngine;
+import com.beerstock.rules.BeerRuleProperties;
+import com.beerstock.tenant.TenantContext;
 import com.beerstock.utils.BeerUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +39,12 @@ public class BeerServiceTest {
     @Mock
     private BeerRepository beerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private BeerRuleEngine beerRuleEngine = new BeerRuleEngine(new BeerRuleProperties());
+
     private BeerMapper beerMapper = BeerMapper.INSTANCE;
 
     @InjectMocks
@@ -38,9 +55,10 @@ public class BeerServiceTest {
         // given
         BeerDTO beerDTO = BeerUtils.createFakeDTO();
         Beer expectedSavedBeer = beerMapper.beerDTOToBeer(beerDTO);
+        expectedSavedBeer.setTenantId(TenantContext.DEFAULT_TENANT);
 
         // when
-        Mockito.when(beerRepository.findByName(beerDTO.getName())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, beerDTO.getName())).thenReturn(Optional.empty());
         Mockito.when(beerRepository.save(expectedSavedBeer)).thenReturn(expectedSavedBeer);
 
         BeerDTO returnedValue = underTest.createBeer(beerDTO);
@@ -56,7 +74,7 @@ public class BeerServiceTest {
         Beer beerRegistered = BeerUtils.createFakeEntity();
 
         // when
-        Mockito.when(beerRepository.findByName(beerDTO.getName())).thenReturn(Optional.of(beerRegistered));
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, beerDTO.getName())).thenReturn(Optional.of(beerRegistered));
 
         // then
         assertThatThrownBy(() -> underTest.createBeer(beerDTO))
@@ -65,6 +83,24 @@ public class BeerServiceTest {
 
     }
 
+    @Test
+    void whenTheSameNameIsRegisteredConcurrentlyThenItShouldThrowBeerAlreadyRegisteredException() {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        Beer expectedSavedBeer = beerMapper.beerDTOToBeer(beerDTO);
+        expectedSavedBeer.setTenantId(TenantContext.DEFAULT_TENANT);
+
+        // when
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, beerDTO.getName())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.save(expectedSavedBeer)).thenThrow(new DataIntegrityViolationException("uk_beer_tenant_name"));
+
+        // then
+        assertThatThrownBy(() -> underTest.createBeer(beerDTO))
+                .isInstanceOf(BeerAlreadyRegisteredException.class)
+                .hasMessage("Beer with name "+ beerDTO.getName()+ " already registered in the system.");
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void whenValidBeerNameIsGivenThenShouldReturnABeer() throws BeerNotFoundException {
         // given
@@ -72,7 +108,7 @@ public class BeerServiceTest {
         Beer expectedFoundBeer = beerMapper.beerDTOToBeer(expectedFoundBeerDTO);
 
         // when
-        Mockito.when(beerRepository.findByName(expectedFoundBeerDTO.getName())).thenReturn(Optional.of(expectedFoundBeer));
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, expectedFoundBeerDTO.getName())).thenReturn(Optional.of(expectedFoundBeer));
 
         BeerDTO returnedBeer = underTest.findByName(expectedFoundBeerDTO.getName());
 
@@ -87,7 +123,7 @@ public class BeerServiceTest {
         BeerDTO expectedFoundBeerDTO = BeerUtils.createFakeDTO();
 
         // when
-        Mockito.when(beerRepository.findByName(expectedFoundBeerDTO.getName())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, expectedFoundBeerDTO.getName())).thenReturn(Optional.empty());
 
         // then
         assertThatThrownBy(() -> underTest.findByName(expectedFoundBeerDTO.getName()))
@@ -102,7 +138,7 @@ public class BeerServiceTest {
         Beer expectedBeer = beerMapper.beerDTOToBeer(expectedFoundBeerDTO);
 
         //when
-        Mockito.when(beerRepository.findAll()).thenReturn(Collections.singletonList(expectedBeer));
+        Mockito.when(beerRepository.findAllByTenantId(TenantContext.DEFAULT_TENANT)).thenReturn(Collections.singletonList(expectedBeer));
         List<BeerDTO> returnedListDTO = underTest.listAll();
 
         //then
@@ -112,7 +148,7 @@ public class BeerServiceTest {
     @Test
     void whenListBeerIsCalledThenReturnEmptyListOfBeers(){
         //when
-        Mockito.when(beerRepository.findAll()).thenReturn(Collections.EMPTY_LIST);
+        Mockito.when(beerRepository.findAllByTenantId(TenantContext.DEFAULT_TENANT)).thenReturn(Collections.EMPTY_LIST);
         List<BeerDTO> returnedListDTO = underTest.listAll();
 
         //then
@@ -126,11 +162,11 @@ public class BeerServiceTest {
         Beer expectedBeer = beerMapper.beerDTOToBeer(expectedFoundBeerDTO);
 
         //when
-        Mockito.when(beerRepository.findById(expectedFoundBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedFoundBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         BeerDTO returnedBeer = underTest.deleteById(expectedFoundBeerDTO.getId());
 
         //then
-        Mockito.verify(beerRepository, Mockito.times(1)).findById(expectedFoundBeerDTO.getId());
+        Mockito.verify(beerRepository, Mockito.times(1)).findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedFoundBeerDTO.getId());
         Mockito.verify(beerRepository, Mockito.times(1)).deleteById(expectedFoundBeerDTO.getId());
 
         assertThat(returnedBeer).isEqualTo(expectedFoundBeerDTO);
@@ -142,7 +178,7 @@ public class BeerServiceTest {
         BeerDTO expectedFoundBeerDTO = BeerUtils.createFakeDTO();
 
         //when
-        Mockito.when(beerRepository.findById(expectedFoundBeerDTO.getId())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedFoundBeerDTO.getId())).thenReturn(Optional.empty());
 
         //then
         Mockito.verify(beerRepository, Mockito.times(0)).deleteById(expectedFoundBeerDTO.getId());
@@ -157,10 +193,11 @@ public class BeerServiceTest {
         //given
         BeerDTO expectedUpdatedBeerDTO = BeerUtils.createFakeDTO();
         Beer expectedBeer = beerMapper.beerDTOToBeer(expectedUpdatedBeerDTO);
+        expectedBeer.setTenantId(TenantContext.DEFAULT_TENANT);
 
         //when
-        Mockito.when(beerRepository.findByName(expectedUpdatedBeerDTO.getName())).thenReturn(Optional.empty());
-        Mockito.when(beerRepository.findById(expectedUpdatedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, expectedUpdatedBeerDTO.getName())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedUpdatedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         Mockito.when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
 
         BeerDTO returnedBeer = underTest.updateBeer(expectedUpdatedBeerDTO.getId(),expectedUpdatedBeerDTO);
@@ -176,14 +213,14 @@ public class BeerServiceTest {
         Beer expectedUpdatedBeer = beerMapper.beerDTOToBeer(expectedUpdatedBeerDTO);
 
         //when
-        Mockito.when(beerRepository.findByName(expectedUpdatedBeerDTO.getName())).thenReturn(Optional.of(expectedUpdatedBeer));
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, expectedUpdatedBeerDTO.getName())).thenReturn(Optional.of(expectedUpdatedBeer));
 
         //then
         assertThatThrownBy(() -> underTest.updateBeer(expectedUpdatedBeerDTO.getId(), expectedUpdatedBeerDTO))
                 .isInstanceOf(BeerAlreadyRegisteredException.class)
                 .hasMessage("Beer with name "+ expectedUpdatedBeerDTO.getName() + " already registered in the system.");
 
-        Mockito.verify(beerRepository, Mockito.never()).findById(expectedUpdatedBeerDTO.getId());
+        Mockito.verify(beerRepository, Mockito.never()).findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedUpdatedBeerDTO.getId());
         Mockito.verify(beerRepository, Mockito.never()).save(expectedUpdatedBeer);
     }
 
@@ -194,8 +231,8 @@ public class BeerServiceTest {
         Beer expectedUpdatedBeer = beerMapper.beerDTOToBeer(expectedUpdatedBeerDTO);
 
         //when
-        Mockito.when(beerRepository.findByName(expectedUpdatedBeerDTO.getName())).thenReturn(Optional.empty());
-        Mockito.when(beerRepository.findById(expectedUpdatedBeerDTO.getId())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndName(TenantContext.DEFAULT_TENANT, expectedUpdatedBeerDTO.getName())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedUpdatedBeerDTO.getId())).thenReturn(Optional.empty());
 
         //then
         assertThatThrownBy(() -> underTest.updateBeer(expectedUpdatedBeerDTO.getId(), expectedUpdatedBeerDTO))
@@ -206,7 +243,7 @@ public class BeerServiceTest {
     }
 
     @Test
-    void whenIncrementIsCalledThenIncrementBeerStock() throws BeerNotFoundException, BeerStockExceededException {
+    void whenIncrementIsCalledThenIncrementBeerStock() throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
         //given
         BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
         Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
@@ -214,7 +251,7 @@ public class BeerServiceTest {
         int expectedQuantityAfterIncrement = expectedBeerDTO.getQuantity() + quantityToIncrement;
 
         //when
-        Mockito.when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         Mockito.when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
 
         // then
@@ -225,14 +262,35 @@ public class BeerServiceTest {
     }
 
     @Test
-    void whenIncrementIsCalledWithInvalidBeerIdShouldThrowBeerNotFoundException() throws BeerNotFoundException, BeerStockExceededException {
+    void whenIncrementIsCalledThenStockChangedEventShouldBePublished() throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
         //given
         BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
         Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
         int quantityToIncrement = 10;
+        ArgumentCaptor<BeerChangedEvent> publishedEvent = ArgumentCaptor.forClass(BeerChangedEvent.class);
 
         //when
-        Mockito.when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
+
+        underTest.increment(expectedBeerDTO.getId(), quantityToIncrement);
+
+        // then
+        Mockito.verify(eventPublisher).publishEvent(publishedEvent.capture());
+        assertThat(publishedEvent.getValue().getChangeType()).isEqualTo(BeerChangedEvent.ChangeType.STOCK_CHANGED);
+        assertThat(publishedEvent.getValue().getQuantity()).isEqualTo(expectedBeerDTO.getQuantity() + quantityToIncrement);
+        assertThat(publishedEvent.getValue().getDelta()).isEqualTo(quantityToIncrement);
+    }
+
+    @Test
+    void whenIncrementIsCalledWithInvalidBeerIdShouldThrowBeerNotFoundException() throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
+        int quantityToIncrement = 10;
+
+        //when
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.empty());
 
         // then
         assertThatThrownBy(() -> underTest.increment(expectedBeerDTO.getId(), quantityToIncrement ))
@@ -244,14 +302,14 @@ public class BeerServiceTest {
 
 
     @Test
-    void whenIncrementIsGreaterThanMaxShouldThrowBeerStockExceededException() throws BeerNotFoundException, BeerStockExceededException {
+    void whenIncrementIsGreaterThanMaxShouldThrowBeerStockExceededException() throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
         //given
         BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
         Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
         int quantityToIncrement = 100;
 
         //when
-        Mockito.when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
 
         // then
         assertThatThrownBy(() -> underTest.increment(expectedBeerDTO.getId(), quantityToIncrement ))
@@ -262,7 +320,7 @@ public class BeerServiceTest {
     }
 
     @Test
-    void whenDecrementIsCalledThenDecrementBeerStock() throws BeerNotFoundException, BeerStockLessThanZero {
+    void whenDecrementIsCalledThenDecrementBeerStock() throws BeerNotFoundException, BeerStockLessThanZero, BeerRuleViolationException {
         //given
         BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
         Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
@@ -270,7 +328,7 @@ public class BeerServiceTest {
         int expectedQuantityAfterIncrement = expectedBeerDTO.getQuantity() - quantityToDecrement;
 
         //when
-        Mockito.when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         Mockito.when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
 
         // then
@@ -287,7 +345,7 @@ public class BeerServiceTest {
         int quantityToDecrement = 5;
 
         //when
-        Mockito.when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.empty());
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.empty());
 
         // then
         assertThatThrownBy(() -> underTest.decrement(expectedBeerDTO.getId(), quantityToDecrement ))
@@ -305,7 +363,7 @@ public class BeerServiceTest {
         int quantityToDecrement = 11;
 
         //when
-        Mockito.when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
 
         //then
         assertThatThrownBy(() -> underTest.decrement(expectedBeerDTO.getId(), quantityToDecrement))
@@ -315,4 +373,159 @@ public class BeerServiceTest {
         Mockito.verify(beerRepository, Mockito.never()).save(expectedBeer);
     }
 
+    @Test
+    void whenIncrementStockIsCalledThenStockIsUpdatedWithoutLoadingTheBeer() throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        int quantityToIncrement = 10;
+        int expectedQuantityAfterIncrement = expectedBeerDTO.getQuantity() + quantityToIncrement;
+        ArgumentCaptor<BeerChangedEvent> publishedEvent = ArgumentCaptor.forClass(BeerChangedEvent.class);
+
+        //when
+        Mockito.when(beerRepository.addQuantity(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId(), quantityToIncrement, Integer.MAX_VALUE)).thenReturn(1);
+        Mockito.when(beerRepository.findQuantityByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedQuantityAfterIncrement));
+
+        StockLevelDTO stockLevel = underTest.incrementStock(expectedBeerDTO.getId(), quantityToIncrement);
+
+        //then
+        assertThat(stockLevel).isEqualTo(new StockLevelDTO(expectedBeerDTO.getId(), expectedQuantityAfterIncrement));
+        Mockito.verify(beerRepository, Mockito.never()).findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId());
+        Mockito.verify(eventPublisher).publishEvent(publishedEvent.capture());
+        assertThat(publishedEvent.getValue().getChangeType()).isEqualTo(BeerChangedEvent.ChangeType.STOCK_CHANGED);
+        assertThat(publishedEvent.getValue().getBeerId()).isEqualTo(expectedBeerDTO.getId());
+        assertThat(publishedEvent.getValue().getQuantity()).isEqualTo(expectedQuantityAfterIncrement);
+        assertThat(publishedEvent.getValue().getDelta()).isEqualTo(quantityToIncrement);
+    }
+
+    @Test
+    void whenIncrementStockIsCalledWithInvalidBeerIdShouldThrowBeerNotFoundException() {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        int quantityToIncrement = 10;
+
+        //when
+        Mockito.when(beerRepository.addQuantity(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId(), quantityToIncrement, Integer.MAX_VALUE)).thenReturn(0);
+        Mockito.when(beerRepository.findQuantityByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.empty());
+
+        //then
+        assertThatThrownBy(() -> underTest.incrementStock(expectedBeerDTO.getId(), quantityToIncrement))
+                .isInstanceOf(BeerNotFoundException.class)
+                .hasMessage("Beer with id "+ expectedBeerDTO.getId() + " not found");
+
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenIncrementStockIsGreaterThanMaxShouldThrowBeerStockExceededException() {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        int quantityToIncrement = 100;
+
+        //when
+        Mockito.when(beerRepository.addQuantity(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId(), quantityToIncrement, Integer.MAX_VALUE)).thenReturn(0);
+        Mockito.when(beerRepository.findQuantityByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeerDTO.getQuantity()));
+
+        //then
+        assertThatThrownBy(() -> underTest.incrementStock(expectedBeerDTO.getId(), quantityToIncrement))
+                .isInstanceOf(BeerStockExceededException.class)
+                .hasMessage("Beers with "+ expectedBeerDTO.getId() +" ID to increment informed exceeds the max stock capacity: " + quantityToIncrement);
+
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenDecrementStockWillBeLessThanZeroShouldThrowBeerStockLessThanZeroException() {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        int quantityToDecrement = 11;
+
+        //when
+        Mockito.when(beerRepository.addQuantity(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId(), -quantityToDecrement, Integer.MAX_VALUE)).thenReturn(0);
+        Mockito.when(beerRepository.findQuantityByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeerDTO.getQuantity()));
+
+        //then
+        assertThatThrownBy(() -> underTest.decrementStock(expectedBeerDTO.getId(), quantityToDecrement))
+                .isInstanceOf(BeerStockLessThanZero.class)
+                .hasMessage("Beer stock with ID: " + expectedBeerDTO.getId() + " cannot be less than zero.");
+    }
+
+    @Test
+    void whenIncrementBreaksTheRuleOfTheBeerTypeShouldThrowBeerRuleViolationException() {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
+        int quantityToIncrement = 10;
+        beerRuleEngine.load(List.of(BeerRuleProperties.Definition.builder().type(BeerType.LARGER).maxQuantity(15).build()));
+
+        //when
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+
+        //then
+        assertThatThrownBy(() -> underTest.increment(expectedBeerDTO.getId(), quantityToIncrement))
+                .isInstanceOf(BeerRuleViolationException.class)
+                .hasMessage("Beer with id " + expectedBeerDTO.getId() + " breaks a stock rule: stock cannot exceed 15.");
+
+        Mockito.verify(beerRepository, Mockito.never()).save(expectedBeer);
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenDecrementStockBreaksTheRuleOfTheBrandShouldThrowBeforeUpdating() {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
+        int quantityToDecrement = 4;
+        beerRuleEngine.load(List.of(BeerRuleProperties.Definition.builder().brand(expectedBeerDTO.getBrand()).decrementMultiple(6).build()));
+
+        //when
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+
+        //then
+        assertThatThrownBy(() -> underTest.decrementStock(expectedBeerDTO.getId(), quantityToDecrement))
+                .isInstanceOf(BeerRuleViolationException.class)
+                .hasMessage("Beer with id " + expectedBeerDTO.getId() + " breaks a stock rule: decrements must be multiples of 6.");
+
+        Mockito.verify(beerRepository, Mockito.never()).addQuantity(Mockito.anyString(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenIncrementStockHasARuleMaxQuantityThenItShouldBoundTheConditionalUpdate() throws BeerNotFoundException, BeerStockExceededException, BeerRuleViolationException {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
+        int quantityToIncrement = 3;
+        int expectedQuantityAfterIncrement = expectedBeerDTO.getQuantity() + quantityToIncrement;
+        beerRuleEngine.load(List.of(BeerRuleProperties.Definition.builder().type(BeerType.LARGER).maxQuantity(15).build()));
+
+        //when
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.addQuantity(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId(), quantityToIncrement, 15)).thenReturn(1);
+        Mockito.when(beerRepository.findQuantityByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedQuantityAfterIncrement));
+
+        StockLevelDTO stockLevel = underTest.incrementStock(expectedBeerDTO.getId(), quantityToIncrement);
+
+        //then
+        assertThat(stockLevel).isEqualTo(new StockLevelDTO(expectedBeerDTO.getId(), expectedQuantityAfterIncrement));
+    }
+
+    @Test
+    void whenAConcurrentIncrementReachedTheRuleMaxQuantityThenIncrementStockShouldThrowBeerRuleViolationException() {
+        //given
+        BeerDTO expectedBeerDTO = BeerUtils.createFakeDTO();
+        Beer expectedBeer = beerMapper.beerDTOToBeer(expectedBeerDTO);
+        int quantityToIncrement = 3;
+        beerRuleEngine.load(List.of(BeerRuleProperties.Definition.builder().type(BeerType.LARGER).maxQuantity(15).build()));
+
+        //when
+        Mockito.when(beerRepository.findByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        Mockito.when(beerRepository.addQuantity(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId(), quantityToIncrement, 15)).thenReturn(0);
+        Mockito.when(beerRepository.findQuantityByTenantIdAndId(TenantContext.DEFAULT_TENANT, expectedBeerDTO.getId())).thenReturn(Optional.of(14));
+
+        //then
+        assertThatThrownBy(() -> underTest.incrementStock(expectedBeerDTO.getId(), quantityToIncrement))
+                .isInstanceOf(BeerRuleViolationException.class)
+                .hasMessage("Beer with id " + expectedBeerDTO.getId() + " breaks a stock rule: stock cannot exceed 15.");
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
 }
@@ -0,0 +1,59 @@
+package com.beerstock.service;
+
+import com.beerstock.dto.BeerFillLevelDTO;
+import com.beerstock.dto.BeerStatsDTO;
+import com.beerstock.entity.Beer;
+import com.beerstock.enums.BeerType;
+import com.beerstock.repository.BeerRepository;
+import com.beerstock.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:stats-test")
+public class BeerStatsServiceTest {
+
+    @Autowired
+    private BeerStatsService beerStatsService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void whenABeerHasNoCapacityThenTheDatabaseStatsShouldRankItLast() {
+        // given
+        Beer empty = beerRepository.save(beer("Empty", 0, 0));
+        Beer half = beerRepository.save(beer("Half", 50, 100));
+        Beer full = beerRepository.save(beer("Full", 10, 10));
+
+        // when
+        BeerStatsDTO stats = beerStatsService.stats();
+
+        // then
+        List<BeerFillLevelDTO> nearestMax = stats.getNearestMax();
+        assertThat(nearestMax).extracting(BeerFillLevelDTO::getId).containsExactly(full.getId(), half.getId(), empty.getId());
+        assertThat(nearestMax.get(2).getFillRatio()).isZero();
+    }
+
+    private static Beer beer(String name, int quantity, int maxQuantity) {
+        return Beer.builder()
+                .tenantId(TenantContext.DEFAULT_TENANT)
+                .name(name)
+                .brand("Ambev")
+                .quantity(quantity)
+                .maxQuantity(maxQuantity)
+                .type(BeerType.LARGER)
+                .build();
+    }
+}
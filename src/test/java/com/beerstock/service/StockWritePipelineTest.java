@@ -0,0 +1,213 @@
+package com.beerstock.service;
+
+import com.beerstock.dto.BeerDTO;
+import com.beerstock.exception.BeerNotFoundException;
+import com.beerstock.exception.BeerStockExceededException;
+import com.beerstock.exception.BeerStockLessThanZero;
+import com.beerstock.exception.StockWritePipelineStoppedException;
+import com.beerstock.exception.StockWriteQueueFullException;
+import com.beerstock.exception.StockWriteTimeoutException;
+import com.beerstock.utils.BeerUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockWritePipelineTest {
+
+    @Mock
+    private BeerService beerService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StockWritePipeline underTest;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (underTest != null) {
+            underTest.stop();
+        }
+    }
+
+    @Test
+    void whenMutationsAreQueuedTogetherThenTheyShouldBeCommittedInOneTransaction() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        underTest = createPipeline(16, 16, 200);
+
+        // when
+        Mockito.when(beerService.increment(beerDTO.getId(), 5)).thenReturn(beerDTO);
+        Mockito.when(beerService.decrement(beerDTO.getId(), 3)).thenReturn(beerDTO);
+
+        CompletableFuture<BeerDTO> incremented = underTest.submit(new StockMutation(beerDTO.getId(), 5));
+        CompletableFuture<BeerDTO> decremented = underTest.submit(new StockMutation(beerDTO.getId(), -3));
+
+        // then
+        assertThat(incremented.get()).isEqualTo(beerDTO);
+        assertThat(decremented.get()).isEqualTo(beerDTO);
+        Mockito.verify(transactionManager, Mockito.times(1)).commit(Mockito.any());
+        assertThat(meterRegistry.get("beerstock.stock.write.group.size").summary().max()).isEqualTo(2);
+    }
+
+    @Test
+    void whenOneMutationOfAGroupFailsThenOnlyItsCallerShouldReceiveTheError() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        underTest = createPipeline(16, 16, 200);
+
+        // when
+        Mockito.when(beerService.increment(beerDTO.getId(), 5)).thenReturn(beerDTO);
+        Mockito.when(beerService.increment(beerDTO.getId(), 100)).thenThrow(new BeerStockExceededException(beerDTO.getId(), 100));
+
+        CompletableFuture<BeerDTO> accepted = underTest.submit(new StockMutation(beerDTO.getId(), 5));
+
+        // then
+        assertThat(underTest.increment(beerDTO.getId(), 100)).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(BeerStockExceededException.class);
+        assertThat(accepted.get()).isEqualTo(beerDTO);
+    }
+
+    @Test
+    void whenDecrementFailsThenItsFutureShouldCompleteWithTheCheckedException() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        underTest = createPipeline(16, 1, 0);
+
+        // when
+        Mockito.when(beerService.decrement(beerDTO.getId(), 11)).thenThrow(new BeerStockLessThanZero(beerDTO.getId()));
+        Mockito.when(beerService.decrement(2L, 1)).thenThrow(new BeerNotFoundException(2L));
+
+        // then
+        assertThat(underTest.decrement(beerDTO.getId(), 11)).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(BeerStockLessThanZero.class);
+        assertThat(underTest.decrement(2L, 1)).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenQueueIsFullThenShouldThrowStockWriteQueueFullException() throws Exception {
+        // given a writer blocked on the first mutation and a queue filled behind it
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(beerService.increment(beerDTO.getId(), 1)).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return beerDTO;
+        });
+        underTest = createPipeline(2, 1, 0);
+
+        CompletableFuture<BeerDTO> blocked = underTest.submit(new StockMutation(beerDTO.getId(), 1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        underTest.submit(new StockMutation(beerDTO.getId(), 1));
+        underTest.submit(new StockMutation(beerDTO.getId(), 1));
+
+        // then
+        assertThatThrownBy(() -> underTest.submit(new StockMutation(beerDTO.getId(), 1)))
+                .isInstanceOf(StockWriteQueueFullException.class)
+                .hasMessage("Stock write queue is full, mutation for beer with ID: 1 was rejected. Try again later.");
+
+        release.countDown();
+        assertThat(blocked.get()).isEqualTo(beerDTO);
+    }
+
+    @Test
+    void whenPipelineIsStoppedThenShouldThrowStockWritePipelineStoppedException() throws Exception {
+        // given
+        underTest = createPipeline(1, 1, 0);
+        underTest.stop();
+
+        // then
+        assertThatThrownBy(() -> underTest.submit(new StockMutation(1L, 1)))
+                .isInstanceOf(StockWritePipelineStoppedException.class)
+                .hasMessage("Stock write pipeline is stopped, mutation for beer with ID: 1 was rejected. Try again later.");
+    }
+
+    @Test
+    void whenCallerTimesOutThenItsMutationShouldNotBeApplied() throws Exception {
+        // given a writer blocked on the first mutation
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(beerService.increment(beerDTO.getId(), 1)).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return beerDTO;
+        });
+        Mockito.when(beerService.increment(beerDTO.getId(), 3)).thenReturn(beerDTO);
+        underTest = createPipeline(16, 1, 0, 100);
+
+        CompletableFuture<BeerDTO> blocked = underTest.submit(new StockMutation(beerDTO.getId(), 1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CompletableFuture<BeerDTO> timedOut = underTest.increment(beerDTO.getId(), 2);
+
+        assertThat(timedOut).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(StockWriteTimeoutException.class)
+                .withMessageContaining("mutation for beer with ID: 1 was not applied");
+        release.countDown();
+
+        // then
+        assertThat(blocked.get()).isEqualTo(beerDTO);
+        assertThat(underTest.submit(new StockMutation(beerDTO.getId(), 3)).get()).isEqualTo(beerDTO);
+        Mockito.verify(beerService, Mockito.never()).increment(beerDTO.getId(), 2);
+    }
+
+    @Test
+    void whenMutationIsAppliedThenItsFutureShouldCompleteWithoutBlockingTheCaller() throws Exception {
+        // given a writer blocked on the mutation
+        BeerDTO beerDTO = BeerUtils.createFakeDTO();
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(beerService.increment(beerDTO.getId(), 1)).thenAnswer(invocation -> {
+            release.await();
+            return beerDTO;
+        });
+        underTest = createPipeline(16, 1, 0);
+
+        // when
+        CompletableFuture<BeerDTO> incremented = underTest.increment(beerDTO.getId(), 1);
+
+        // then
+        assertThat(incremented).isNotDone();
+        release.countDown();
+        assertThat(incremented.get(5, TimeUnit.SECONDS)).isEqualTo(beerDTO);
+    }
+
+    private StockWritePipeline createPipeline(int queueCapacity, int maxGroupSize, long maxDelay) {
+        return createPipeline(queueCapacity, maxGroupSize, maxDelay, 5000);
+    }
+
+    private StockWritePipeline createPipeline(int queueCapacity, int maxGroupSize, long maxDelay, long awaitTimeout) {
+        StockWritePipelineProperties properties = new StockWritePipelineProperties();
+        properties.setEnabled(true);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxGroupSize(maxGroupSize);
+        properties.setMaxDelay(maxDelay);
+        properties.setAwaitTimeout(awaitTimeout);
+
+        StockWritePipeline pipeline = new StockWritePipeline(beerService, transactionManager, properties, meterRegistry);
+        pipeline.start();
+
+        return pipeline;
+    }
+}
@@ -0,0 +1,109 @@
+package com.beerstock.tenant;
+
+import com.beerstock.exception.InvalidTenantException;
+import com.beerstock.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TenantInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TenancyProperties properties;
+
+    private TenantInterceptor underTest;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenancyProperties();
+        underTest = new TenantInterceptor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void whenTenantHeaderIsSentThenTheRequestRunsAsThatTenant() throws Exception {
+        // given
+        properties.setAllowedTenants(List.of("bar-chain"));
+        MockHttpServletRequest request = request("bar-chain");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        underTest.preHandle(request, response, null);
+
+        // then
+        assertThat(TenantContext.getTenantId()).isEqualTo("bar-chain");
+        underTest.afterCompletion(request, response, null, null);
+        assertThat(TenantContext.getTenantId()).isEqualTo(TenantContext.DEFAULT_TENANT);
+        assertThat(meterRegistry.get("beerstock.tenant.requests").tag("tenant", "bar-chain").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenNoTenantHeaderIsSentThenTheRequestRunsAsTheDefaultTenant() throws Exception {
+        // when
+        underTest.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+        // then
+        assertThat(TenantContext.getTenantId()).isEqualTo(TenantContext.DEFAULT_TENANT);
+    }
+
+    @Test
+    void whenTenantIsMalformedOrNotAllowedThenInvalidTenantExceptionIsThrown() {
+        // given
+        properties.setAllowedTenants(List.of("bar-chain"));
+
+        // then
+        assertThatThrownBy(() -> underTest.preHandle(request("../other"), new MockHttpServletResponse(), null))
+                .isInstanceOf(InvalidTenantException.class);
+        assertThatThrownBy(() -> underTest.preHandle(request("pub-chain"), new MockHttpServletResponse(), null))
+                .isInstanceOf(InvalidTenantException.class);
+    }
+
+    @Test
+    void whenNoTenantIsConfiguredThenOnlyTheDefaultTenantIsAccepted() throws Exception {
+        // then
+        assertThatThrownBy(() -> underTest.preHandle(request("bar-chain"), new MockHttpServletResponse(), null))
+                .isInstanceOf(InvalidTenantException.class);
+        assertThat(underTest.preHandle(request(TenantContext.DEFAULT_TENANT), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(meterRegistry.find("beerstock.tenant.requests").tag("tenant", "bar-chain").timer()).isNull();
+    }
+
+    @Test
+    void whenTenantReachesItsBulkheadThenOnlyThatTenantIsShed() throws Exception {
+        // given
+        properties.setAllowedTenants(List.of("bar-chain", "pub-chain"));
+        properties.setMaxConcurrentRequests(1);
+        MockHttpServletRequest inFlight = request("bar-chain");
+        MockHttpServletResponse shedResponse = new MockHttpServletResponse();
+        underTest.preHandle(inFlight, new MockHttpServletResponse(), null);
+
+        // then
+        assertThatThrownBy(() -> underTest.preHandle(request("bar-chain"), shedResponse, null))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(shedResponse.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(underTest.preHandle(request("pub-chain"), new MockHttpServletResponse(), null)).isTrue();
+
+        underTest.afterCompletion(inFlight, new MockHttpServletResponse(), null, null);
+        assertThat(underTest.getInFlight("bar-chain")).isZero();
+        assertThat(underTest.preHandle(request("bar-chain"), new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    private static MockHttpServletRequest request(String tenantId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/beer");
+        request.addHeader("X-Tenant-Id", tenantId);
+        return request;
+    }
+}
@@ -3,6 +3,7 @@ package com.beerstock.utils;
 import com.beerstock.dto.BeerDTO;
 import com.beerstock.entity.Beer;
 import com.beerstock.enums.BeerType;
+import com.beerstock.tenant.TenantContext;
 
 public class BeerUtils {
     private static final Long id = 1L;
@@ -28,6 +29,7 @@ public class BeerUtils {
         return Beer
                 .builder()
                 .id(id)
+                .tenantId(TenantContext.DEFAULT_TENANT)
                 .name(name)
                 .brand(brand)
                 .maxQuantity(maxQuantity)